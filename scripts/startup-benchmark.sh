@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Startup benchmark: time-to-first-request and RSS for each image variant.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#   SKIP_BUILD=1      reuse previously built images
+#   INCLUDE_NATIVE=1  also build and measure the GraalVM native image (slow to build)
+#
+# Needs Docker and the local database from docker-compose.yml. Results are printed and
+# appended to target/startup-benchmark.csv so runs can be compared over time.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT=18080
+IMAGE=french-auction-backend
+DB_URL="jdbc:postgresql://host.docker.internal:5435/french_energy_auctions"
+RESULTS=target/startup-benchmark.csv
+
+cd "$(dirname "$0")/.."
+
+variants=("jvm:Dockerfile" "faststart:Dockerfile.faststart")
+if [[ "${INCLUDE_NATIVE:-0}" == "1" ]]; then
+  variants+=("native:Dockerfile.native")
+fi
+
+docker compose up -d postgres
+
+if [[ "${SKIP_BUILD:-0}" != "1" ]]; then
+  for variant in "${variants[@]}"; do
+    docker build -f "${variant#*:}" -t "$IMAGE:${variant%%:*}" .
+  done
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+# Resident set size of the container's main process in MB; falls back to cgroup usage where /proc is not shared (macOS)
+rss_mb() {
+  local container="$1" pid
+  pid=$(docker inspect -f '{{.State.Pid}}' "$container")
+  if [[ -r "/proc/$pid/status" ]]; then
+    awk '/VmRSS/ { printf "%.1f", $2 / 1024 }' "/proc/$pid/status"
+  else
+    docker stats --no-stream --format '{{.MemUsage}}' "$container" | awk '{ print $1 }'
+  fi
+}
+
+mkdir -p target
+[[ -f "$RESULTS" ]] || echo "timestamp,variant,run,time_to_first_request_ms,rss_mb" > "$RESULTS"
+
+printf "%-10s %4s %22s %10s\n" variant run time_to_first_req_ms rss_mb
+for variant in "${variants[@]}"; do
+  name="${variant%%:*}"
+  for run in $(seq 1 "$RUNS"); do
+    started=$(now_ms)
+    container=$(docker run -d --rm \
+      --add-host=host.docker.internal:host-gateway \
+      -p "$PORT:8080" \
+      -e SPRING_DATASOURCE_URL="$DB_URL" \
+      -e DB_USERNAME=auction_user \
+      -e DB_PASSWORD=auction_pass \
+      "$IMAGE:$name")
+
+    until curl -sf "http://localhost:$PORT/api/auctions/health" > /dev/null; do
+      if ! docker inspect "$container" > /dev/null 2>&1; then
+        echo "$name exited before serving a request" >&2
+        exit 1
+      fi
+      sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - started ))
+    rss=$(rss_mb "$container")
+
+    printf "%-10s %4d %22d %10s\n" "$name" "$run" "$elapsed" "$rss"
+    echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$name,$run,$elapsed,$rss" >> "$RESULTS"
+
+    docker stop "$container" > /dev/null
+  done
+done
@@ -0,0 +1,78 @@
+package com.energyauctions.french_auction_scraper.cli;
+
+import com.energyauctions.french_auction_scraper.service.BulkImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line import mode
+ *
+ * Runs a bulk import and exits instead of serving requests:
+ *   java -jar app.jar --import=auctions.csv [--import-format=csv] --spring.profiles.active=prod --spring.main.web-application-type=none
+ *       --auction.journal.directory=/tmp/import-journal --auction.journal.require-persistent-storage=false
+ *
+ * The import does not go through the ingest journal, so prod's persistent volume check can be relaxed.
+ *
+ * Refuses to run with ddl-auto=create-drop (the default profile): the schema, and with it the
+ * imported data, would be dropped again when the command exits.
+ *
+ * The option is checked at runtime rather than through a conditional bean so it also works
+ * in the AOT-processed build.
+ */
+@Component
+public class ImportCommandLineRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportCommandLineRunner.class);
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("import")) {
+            return;
+        }
+
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "");
+        if (ddlAuto.equalsIgnoreCase("create-drop")) {
+            logger.error("Refusing to import with spring.jpa.hibernate.ddl-auto=create-drop - the data would be dropped on exit. "
+                    + "Run with --spring.profiles.active=prod or another profile that keeps the schema.");
+            System.exit(SpringApplication.exit(applicationContext, () -> 2));
+            return;
+        }
+
+        int exitCode = 0;
+        Path file = Path.of(args.getOptionValues("import").get(0));
+        String format = args.containsOption("import-format") ? args.getOptionValues("import-format").get(0) : null;
+
+        try (InputStream input = Files.newInputStream(file)) {
+            BulkImportService.ImportResult result = bulkImportService.importAuctions(
+                    input, BulkImportService.resolveFormat(format, file.getFileName().toString()));
+            logger.info("Imported {}: {}", file, result);
+
+        } catch (Exception e) {
+            logger.error("Import of {} failed: {}", file, e.getMessage(), e);
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+}
@@ -0,0 +1,57 @@
+package com.energyauctions.french_auction_scraper.config;
+
+import com.energyauctions.french_auction_scraper.journal.AuctionIngestQueue;
+import com.energyauctions.french_auction_scraper.journal.IngestJournal;
+import com.energyauctions.french_auction_scraper.service.AuctionIngestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+@Configuration
+public class JournalConfig {
+
+    // File systems that never outlive the machine, even when mounted separately
+    private static final Set<String> VOLATILE_FILE_STORES = Set.of("tmpfs", "ramfs");
+
+    @Bean(destroyMethod = "close")
+    public IngestJournal ingestJournal(
+            @Value("${auction.journal.directory:data/journal}") String directory,
+            @Value("${auction.journal.require-persistent-storage:false}") boolean requirePersistentStorage,
+            @Value("${auction.journal.segment-bytes:4194304}") int segmentBytes,
+            @Value("${auction.journal.sync-every:32}") int syncEvery,
+            @Value("${auction.journal.max-pending:10000}") int maxPending,
+            @Value("${auction.journal.append-timeout-ms:30000}") long appendTimeoutMs) throws IOException {
+        Path path = Path.of(directory);
+        if (requirePersistentStorage) {
+            checkPersistent(path);
+        }
+        return new IngestJournal(path, segmentBytes, syncEvery, maxPending, appendTimeoutMs);
+    }
+
+    // A journal in the container's own file system disappears with the instance, which defeats its purpose.
+    // A mounted volume is always a different file store than the root, so anything else is refused.
+    static void checkPersistent(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileStore store = Files.getFileStore(directory);
+        if (!directory.isAbsolute() || store.equals(Files.getFileStore(directory.getRoot()))
+                || VOLATILE_FILE_STORES.contains(store.type())) {
+            throw new IllegalStateException("Ingest journal directory " + directory.toAbsolutePath() + " (" + store.type()
+                    + ") is not on a mounted persistent volume; mount one and set AUCTION_JOURNAL_DIR to its path");
+        }
+    }
+
+    @Bean
+    public AuctionIngestQueue auctionIngestQueue(IngestJournal ingestJournal, AuctionIngestService auctionIngestService,
+                                                 ObjectMapper objectMapper,
+                                                 @Value("${auction.journal.batch-size:50}") int batchSize,
+                                                 @Value("${auction.journal.max-attempts:3}") int maxAttempts) {
+        return new AuctionIngestQueue(ingestJournal, auctionIngestService, objectMapper, batchSize, maxAttempts);
+    }
+}
@@ -0,0 +1,20 @@
+package com.energyauctions.french_auction_scraper.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class WebConfig {
+
+    // Binary alternative to JSON for clients sending "Accept: application/cbor".
+    // Built from Spring Boot's Jackson builder so dates and modules match the JSON output.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+}
@@ -1,17 +1,34 @@
 package com.energyauctions.french_auction_scraper.controller;
 
 import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.repository.AuctionFieldSelection;
 import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import com.energyauctions.french_auction_scraper.model.PriceAnomaly;
+import com.energyauctions.french_auction_scraper.scraper.TableExtractionException;
+import com.energyauctions.french_auction_scraper.service.AuctionCacheService;
+import com.energyauctions.french_auction_scraper.service.AuctionIndexService;
+import com.energyauctions.french_auction_scraper.service.AuctionStatisticsService;
+import com.energyauctions.french_auction_scraper.service.BulkImportService;
 import com.energyauctions.french_auction_scraper.service.EEXAuctionScraperService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/auctions")
@@ -24,16 +41,50 @@ public class AuctionController {
     @Autowired
     private EEXAuctionScraperService scraperService;
 
+    @Autowired
+    private AuctionCacheService auctionCacheService;
+
+    @Autowired
+    private AuctionStatisticsService auctionStatisticsService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private AuctionIndexService auctionIndexService;
+
+    @Value("${auction.import.http-enabled:false}")
+    private boolean importEnabled;
+
+    @Value("${auction.import.token:}")
+    private String importToken;
+
+    @Value("${auction.import.max-bytes:536870912}")
+    private long importMaxBytes;
+
+    // Every endpoint returning auctions accepts an optional ?fields= list (see AuctionFieldSelection),
+    // e.g. ?fields=auctionDate,regions.regionName,regions.weightedAvgPrice for a price chart.
+    // Responses are JSON by default, or CBOR when requested with "Accept: application/cbor".
     @GetMapping
-    public List<Auction> getAllAuctions() {
+    public ResponseEntity<?> getAllAuctions(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return withFields(fields, selection -> ResponseEntity.ok(auctionRepository.findAllProjected(selection)));
+        }
+
         // Changed from findAllWithDetails() to avoid Hibernate's MultipleBagFetchException
         // The regions and technologies will still be available in the JSON response through lazy loading
-        return auctionRepository.findAllAuctions();
+        return ResponseEntity.ok(auctionRepository.findAllAuctions());
     }
 
     // Get the latest auction results
     @GetMapping("/latest")
-    public ResponseEntity<Auction> getLatestAuction() {
+    public ResponseEntity<?> getLatestAuction(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return withFields(fields, selection -> auctionRepository.findLatestProjected(selection)
+                    .map(auction -> ResponseEntity.ok(auction))
+                    .orElse(ResponseEntity.notFound().build()));
+        }
+
         return auctionRepository.findTopByOrderByAuctionDateDesc()
                 .map(auction -> ResponseEntity.ok(auction))
                 .orElse(ResponseEntity.notFound().build());
@@ -41,38 +92,43 @@ public class AuctionController {
 
     // Get auctions in a date range
     @GetMapping("/range")
-    public List<Auction> getAuctionsByDateRange(
+    public ResponseEntity<?> getAuctionsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String fields) {
+
+        if (fields != null) {
+            return withFields(fields, selection -> ResponseEntity.ok(
+                    auctionRepository.findByAuctionDateBetweenProjected(selection, startDate, endDate)));
+        }
 
-        return auctionRepository.findByAuctionDateBetweenOrderByAuctionDateDesc(startDate, endDate);
+        return ResponseEntity.ok(auctionRepository.findByAuctionDateBetweenOrderByAuctionDateDesc(startDate, endDate));
     }
 
     // Get regional data for charts
     @GetMapping("/regions")
-    public ResponseEntity<Map<String, Object>> getRegionalData() {
-        // Changed from findAllWithDetails() to avoid Hibernate's MultipleBagFetchException
-        // The regions and technologies will still be available in the JSON response through lazy loading
-        List<Auction> auctions = auctionRepository.findAllAuctions();
-
-        if (auctions.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("auctions", auctions);
-        response.put("totalAuctions", auctions.size());
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> getRegionalData(@RequestParam(required = false) String fields) {
+        return getChartData(fields);
     }
 
     // Get technology breakdown data
     @GetMapping("/technologies")
-    public ResponseEntity<Map<String, Object>> getTechnologyData() {
+    public ResponseEntity<?> getTechnologyData(@RequestParam(required = false) String fields) {
+        return getChartData(fields);
+    }
+
+    // Both chart endpoints wrap the auction list with a count
+    private ResponseEntity<?> getChartData(String fields) {
+        if (fields != null) {
+            return withFields(fields, selection -> chartResponse(auctionRepository.findAllProjected(selection)));
+        }
+
         // Changed from findAllWithDetails() to avoid Hibernate's MultipleBagFetchException
         // The regions and technologies will still be available in the JSON response through lazy loading
-        List<Auction> auctions = auctionRepository.findAllAuctions();
+        return chartResponse(auctionRepository.findAllAuctions());
+    }
 
+    private ResponseEntity<?> chartResponse(List<?> auctions) {
         if (auctions.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -84,6 +140,21 @@ public class AuctionController {
         return ResponseEntity.ok(response);
     }
 
+    // Parses ?fields= and turns unknown field names into a 400 instead of a server error
+    private ResponseEntity<?> withFields(String fields, Function<AuctionFieldSelection, ResponseEntity<?>> handler) {
+        AuctionFieldSelection selection;
+        try {
+            selection = AuctionFieldSelection.parse(fields);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        return handler.apply(selection);
+    }
+
     // Get basic stats for dashboard
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getStats() {
@@ -116,18 +187,27 @@ public class AuctionController {
 
     // Manual trigger for scraping - for testing and immediate updates
     @PostMapping("/scrape")
-    public ResponseEntity<Map<String, String>> triggerScraping() {
+    public ResponseEntity<Map<String, Object>> triggerScraping() {
         try {
             scraperService.scrapeNow();
 
-            Map<String, String> response = new HashMap<>();
+            Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
             response.put("message", "Scraping completed successfully");
 
             return ResponseEntity.ok(response);
 
+        } catch (TableExtractionException e) {
+            // The EEX page was read but a results table failed validation, so the auction was not saved
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "error");
+            response.put("message", "Scraping failed: " + e.getMessage());
+            response.put("tables", e.getQuality());
+
+            return ResponseEntity.status(502).body(response);
+
         } catch (Exception e) {
-            Map<String, String> response = new HashMap<>();
+            Map<String, Object> response = new HashMap<>();
             response.put("status", "error");
             response.put("message", "Scraping failed: " + e.getMessage());
 
@@ -135,6 +215,174 @@ public class AuctionController {
         }
     }
 
+    // Parse quality of the last scrape per results table: column mapping, rows parsed/rejected and issues
+    @GetMapping("/scrape/quality")
+    public ResponseEntity<Map<String, Object>> getScrapeQuality() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("tables", scraperService.getLastTableQuality());
+        response.put("extractedAt", scraperService.getLastExtractionAt());
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Recent region/technology values that deviated from their history, newest first - served from memory
+    @GetMapping("/anomalies")
+    public ResponseEntity<Map<String, Object>> getAnomalies() {
+        List<PriceAnomaly> anomalies = auctionStatisticsService.getRecentAnomalies();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("anomalies", anomalies);
+        response.put("count", anomalies.size());
+        response.put("zThreshold", auctionStatisticsService.getZThreshold());
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Top-K regions or technologies by average price, offered/allocated volume or allocation ratio
+    // over the last N auctions, e.g. /rankings?dimension=region&metric=price&lastN=12&k=5
+    @GetMapping("/rankings")
+    public ResponseEntity<?> getRankings(
+            @RequestParam(defaultValue = "region") String dimension,
+            @RequestParam(defaultValue = "price") String metric,
+            @RequestParam(defaultValue = "12") int lastN,
+            @RequestParam(defaultValue = "5") int k) {
+
+        return fromIndex(() -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("dimension", dimension);
+            response.put("metric", metric);
+            response.put("lastN", lastN);
+            response.put("rankings", auctionIndexService.topK(dimension, metric, lastN, k));
+            return response;
+        });
+    }
+
+    // Auction-over-auction changes for one region or technology
+    @GetMapping("/deltas")
+    public ResponseEntity<?> getDeltas(
+            @RequestParam(defaultValue = "region") String dimension,
+            @RequestParam String name,
+            @RequestParam(defaultValue = "12") int lastN) {
+
+        return fromIndex(() -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("dimension", dimension);
+            response.put("name", name);
+            response.put("deltas", auctionIndexService.deltas(dimension, name, lastN));
+            return response;
+        });
+    }
+
+    // Two regions or technologies side by side, aligned on auction date
+    @GetMapping("/compare")
+    public ResponseEntity<?> compare(
+            @RequestParam(defaultValue = "region") String dimension,
+            @RequestParam String a,
+            @RequestParam String b,
+            @RequestParam(defaultValue = "12") int lastN) {
+
+        return fromIndex(() -> {
+            List<AuctionIndexService.HeadToHead> rows = auctionIndexService.headToHead(dimension, a, b, lastN);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("dimension", dimension);
+            response.put("a", a);
+            response.put("b", b);
+            response.put("rows", rows);
+            // Only auctions where both have a result count towards the average
+            OptionalDouble averageDifference = rows.stream()
+                    .filter(row -> row.priceDifference() != null)
+                    .mapToDouble(AuctionIndexService.HeadToHead::priceDifference)
+                    .average();
+            response.put("averagePriceDifference", averageDifference.isPresent() ? averageDifference.getAsDouble() : null);
+            return response;
+        });
+    }
+
+    // Known region and technology names in the comparison index
+    @GetMapping("/index/names")
+    public ResponseEntity<?> getIndexNames(@RequestParam(defaultValue = "region") String dimension) {
+        return fromIndex(() -> auctionIndexService.names(dimension));
+    }
+
+    // Bad dimension/metric/lastN is a 400, an unknown region or technology a 404
+    private ResponseEntity<?> fromIndex(Supplier<Object> query) {
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (NoSuchElementException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(404).body(response);
+        }
+    }
+
+    // Second-level and query cache counters
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(auctionCacheService.getStatistics());
+    }
+
+    // Bulk import of historical auctions; the request body is the CSV or NDJSON file itself - see BulkImportService
+    // for the formats. Disabled unless auction.import.http-enabled=true, and then it requires the X-Import-Token header.
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importAuctions(
+            HttpServletRequest request,
+            @RequestHeader(value = "X-Import-Token", required = false) String token,
+            @RequestParam(required = false) String format) {
+
+        if (!importEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        if (importToken.isBlank() || token == null
+                || !MessageDigest.isEqual(importToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            response.put("status", "error");
+            response.put("message", "Missing or invalid X-Import-Token");
+            return ResponseEntity.status(403).body(response);
+        }
+
+        // The size limit only applies here; multipart uploads elsewhere keep the default limits
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            // Chunked or unknown length; the limit has to be checked before reading
+            response.put("status", "error");
+            response.put("message", "Import body needs a Content-Length header");
+            return ResponseEntity.status(411).body(response);
+        }
+        if (length > importMaxBytes) {
+            response.put("status", "error");
+            response.put("message", "Import body is " + length + " bytes, the limit is " + importMaxBytes + " bytes");
+            return ResponseEntity.status(413).body(response);
+        }
+
+        try (InputStream input = request.getInputStream()) {
+            String contentType = request.getContentType();
+            BulkImportService.ImportResult result = bulkImportService.importAuctions(input, BulkImportService.resolveFormat(
+                    format, contentType == null ? null : MediaType.parseMediaType(contentType).getSubtype()));
+
+            response.put("status", "success");
+            response.put("result", result);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", "Invalid import file: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+
+        } catch (Exception e) {
+            response.put("status", "error");
+            response.put("message", "Import failed: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     // Simple health check
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
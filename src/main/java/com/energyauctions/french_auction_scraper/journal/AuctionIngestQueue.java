@@ -0,0 +1,226 @@
+package com.energyauctions.french_auction_scraper.journal;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.model.AuctionRegion;
+import com.energyauctions.french_auction_scraper.model.AuctionTechnology;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Auction Ingest Queue
+ *
+ * Decouples scraping from database availability: submitted auctions are written to the
+ * IngestJournal first and a background drainer replays them into the AuctionSink.
+ *
+ * Key Functions:
+ * - submit() journals and fsyncs an auction, then tries to drain straight away
+ * - drain() replays uncommitted records in batches and commits the journal only after the sink succeeded
+ * - If the database is unreachable, the batch stays in the journal and is retried on the next scheduled drain
+ * - If the database rejects a batch, its records are stored one at a time; a record rejected
+ *   maxAttempts times is quarantined (logged with its payload and skipped)
+ * - Records that can no longer be decoded are logged and skipped so they cannot block the journal
+ */
+public class AuctionIngestQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionIngestQueue.class);
+
+    private final IngestJournal journal;
+    private final AuctionSink sink;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    // Rejections per journal sequence; only touched under the drain lock
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+    private int quarantined;
+
+    public AuctionIngestQueue(IngestJournal journal, AuctionSink sink, ObjectMapper objectMapper, int batchSize, int maxAttempts) {
+        this.journal = journal;
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // Returns once the auction is durable in the journal, whether or not the database accepted it yet
+    public long submit(Auction auction) throws IOException {
+        long sequence = journal.append(objectMapper.writeValueAsBytes(auction));
+        journal.sync();
+        logger.info("Journaled auction {} ({}) as record {}", auction.getAuctionDate(), auction.getProductionMonth(), sequence);
+
+        drain();
+        return sequence;
+    }
+
+    @Scheduled(fixedDelayString = "${auction.journal.drain-interval-ms:30000}")
+    public void drainScheduled() {
+        drain();
+    }
+
+    // Returns the number of records drained. Stops when the database is unreachable; a batch the
+    // database rejects is retried record by record so one bad record cannot block the rest.
+    public synchronized int drain() {
+        int drained = 0;
+
+        while (true) {
+            List<JournalEntry> batch = journal.readUncommitted(batchSize);
+            if (batch.isEmpty()) {
+                return drained;
+            }
+
+            List<Auction> decoded = new ArrayList<>(batch.size());
+            List<Auction> auctions = new ArrayList<>(batch.size());
+            for (JournalEntry entry : batch) {
+                Auction auction = decode(entry);
+                decoded.add(auction);
+                if (auction != null) {
+                    auctions.add(auction);
+                }
+            }
+
+            try {
+                if (!auctions.isEmpty()) {
+                    sink.persist(auctions);
+                }
+            } catch (Exception e) {
+                if (isTransient(e)) {
+                    logger.warn("Could not store journaled auctions, {} records pending: {}", journal.pending(), e.getMessage());
+                    return drained;
+                }
+
+                logger.warn("Batch of {} journaled auctions rejected, storing them one at a time: {}", auctions.size(), e.getMessage());
+                int done = drainOneByOne(batch, decoded);
+                drained += done;
+                if (done < batch.size()) {
+                    return drained;
+                }
+                continue;
+            }
+
+            if (!commit(batch.get(batch.size() - 1).sequence())) {
+                return drained;
+            }
+
+            drained += batch.size();
+            logger.info("Drained {} journaled auctions, {} pending", batch.size(), journal.pending());
+        }
+    }
+
+    // Returns how many leading records of the batch are done, either stored or quarantined
+    private int drainOneByOne(List<JournalEntry> batch, List<Auction> decoded) {
+        for (int i = 0; i < batch.size(); i++) {
+            JournalEntry entry = batch.get(i);
+            Auction auction = decoded.get(i);
+
+            if (auction != null) {
+                try {
+                    sink.persist(List.of(auction));
+                    failedAttempts.remove(entry.sequence());
+
+                } catch (Exception e) {
+                    if (isTransient(e)) {
+                        logger.warn("Could not store journaled auctions, {} records pending: {}", journal.pending(), e.getMessage());
+                        return i;
+                    }
+
+                    int attempts = failedAttempts.merge(entry.sequence(), 1, Integer::sum);
+                    if (attempts < maxAttempts) {
+                        logger.warn("Journal record {} rejected (attempt {} of {}): {}", entry.sequence(), attempts, maxAttempts, e.getMessage());
+                        return i;
+                    }
+
+                    // Same treatment as an undecodable record: logged in full, then skipped
+                    failedAttempts.remove(entry.sequence());
+                    quarantined++;
+                    logger.error("Quarantining journal record {} after {} rejected attempts: {} - payload: {}",
+                            entry.sequence(), attempts, e.getMessage(), new String(entry.payload(), StandardCharsets.UTF_8));
+                }
+            }
+
+            if (!commit(entry.sequence())) {
+                return i;
+            }
+        }
+        return batch.size();
+    }
+
+    private boolean commit(long sequence) {
+        try {
+            journal.commit(sequence);
+            return true;
+        } catch (IOException e) {
+            // The sink is idempotent, so the records are simply replayed next time
+            logger.error("Could not commit journal up to record {}: {}", sequence, e.getMessage());
+            return false;
+        }
+    }
+
+    // Connection-level failures: the database is away, not refusing the data
+    static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof ConnectException) {
+                return true;
+            }
+            // SQLSTATE class 08: connection exception
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && sqlException.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int quarantined() {
+        return quarantined;
+    }
+
+    public long pending() {
+        return journal.pending();
+    }
+
+    private Auction decode(JournalEntry entry) {
+        try {
+            Auction auction = objectMapper.readValue(entry.payload(), Auction.class);
+
+            // The back references are not serialized
+            if (auction.getRegions() != null) {
+                for (AuctionRegion region : auction.getRegions()) {
+                    region.setAuction(auction);
+                }
+            }
+            if (auction.getTechnologies() != null) {
+                for (AuctionTechnology technology : auction.getTechnologies()) {
+                    technology.setAuction(auction);
+                }
+            }
+            return auction;
+
+        } catch (IOException e) {
+            logger.error("Skipping undecodable journal record {}: {}", entry.sequence(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.energyauctions.french_auction_scraper.journal;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+
+import java.util.List;
+
+// Where drained auctions end up. Must be idempotent: a batch can be replayed after a crash
+// between the database commit and the journal commit.
+public interface AuctionSink {
+
+    void persist(List<Auction> auctions);
+}
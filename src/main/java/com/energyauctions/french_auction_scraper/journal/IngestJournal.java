@@ -0,0 +1,434 @@
+package com.energyauctions.french_auction_scraper.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Ingest Journal
+ *
+ * Append-only local log that parsed auctions are written to before they reach the database,
+ * so nothing is lost while the database is unreachable.
+ *
+ * Layout:
+ * - Fixed-size, memory-mapped segment files named segment-<first sequence>.log
+ * - Each record is [length:int][crc32c:int][sequence:long][payload], the length is written last
+ *   so a torn write reads as the end of the log
+ * - A checkpoint file holds the highest sequence the database has committed
+ *
+ * Key Functions:
+ * - Appends are fsynced in batches (every syncEvery records or on an explicit sync())
+ * - On open, records are verified by checksum and sequence; the log is cut at the first bad record
+ * - Segments whose records are all committed are deleted (compaction)
+ * - Appends block while maxPending records are uncommitted, then fail with JournalFullException
+ */
+public class IngestJournal implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestJournal.class);
+
+    static final int HEADER_BYTES = 16;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int syncEvery;
+    private final int maxPending;
+    private final long appendTimeoutMs;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long nextSequence;
+    private long committedSequence;
+    private int unsynced;
+    private boolean closed;
+
+    public IngestJournal(Path directory, int segmentBytes, int syncEvery, int maxPending, long appendTimeoutMs) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncEvery = syncEvery;
+        this.maxPending = maxPending;
+        this.appendTimeoutMs = appendTimeoutMs;
+
+        Files.createDirectories(directory);
+        committedSequence = readCheckpoint();
+        recover();
+
+        logger.info("Opened ingest journal at {}: {} segments, {} uncommitted records",
+                directory, segments.size(), pending());
+    }
+
+    // Appends one record and returns its sequence; durable after the next sync
+    public synchronized long append(byte[] payload) throws IOException {
+        ensureOpen();
+        if (payload.length + HEADER_BYTES > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit in a journal segment");
+        }
+
+        awaitCapacity();
+
+        if (active == null || !active.fits(payload.length)) {
+            roll();
+        }
+
+        long sequence = nextSequence++;
+        active.write(sequence, payload);
+
+        if (++unsynced >= syncEvery) {
+            sync();
+        }
+        return sequence;
+    }
+
+    // Flushes appended records of the active segment to disk
+    public synchronized void sync() {
+        if (active != null && unsynced > 0) {
+            active.force();
+        }
+        unsynced = 0;
+    }
+
+    // Records after the last commit, oldest first
+    public synchronized List<JournalEntry> readUncommitted(int max) {
+        ensureOpenUnchecked();
+        List<JournalEntry> entries = new ArrayList<>();
+        if (segments.isEmpty()) {
+            return entries;
+        }
+
+        long sequence = Math.max(committedSequence + 1, segments.firstKey());
+        while (entries.size() < max && sequence < nextSequence) {
+            Segment segment = segments.floorEntry(sequence).getValue();
+            entries.add(new JournalEntry(sequence, segment.read(sequence)));
+            sequence++;
+        }
+        return entries;
+    }
+
+    // Marks everything up to and including the sequence as stored in the database
+    public synchronized void commit(long sequence) throws IOException {
+        ensureOpen();
+        if (sequence <= committedSequence) {
+            return;
+        }
+        if (sequence >= nextSequence) {
+            throw new IllegalArgumentException("Cannot commit sequence " + sequence + ", last appended is " + (nextSequence - 1));
+        }
+
+        committedSequence = sequence;
+        writeCheckpoint(sequence);
+        compact();
+        notifyAll();
+    }
+
+    public synchronized long pending() {
+        return nextSequence - 1 - committedSequence;
+    }
+
+    public synchronized long getCommittedSequence() {
+        return committedSequence;
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        sync();
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        closed = true;
+        notifyAll();
+    }
+
+    private void awaitCapacity() throws IOException {
+        long deadline = System.currentTimeMillis() + appendTimeoutMs;
+        while (pending() >= maxPending) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new JournalFullException("Ingest journal has " + pending() + " uncommitted records, limit is " + maxPending);
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for journal capacity");
+            }
+            ensureOpen();
+        }
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            active.force();
+        }
+        unsynced = 0;
+
+        Path file = directory.resolve(SEGMENT_PREFIX + String.format("%020d", nextSequence) + SEGMENT_SUFFIX);
+        active = Segment.create(file, nextSequence, segmentBytes);
+        segments.put(nextSequence, active);
+        syncDirectory();
+        compact();
+    }
+
+    // Deletes segments that only hold committed records; the active segment is always kept
+    private void compact() {
+        List<Long> removable = new ArrayList<>();
+        for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+            Segment segment = entry.getValue();
+            if (segment != active && segment.lastSequence() <= committedSequence) {
+                removable.add(entry.getKey());
+            }
+        }
+
+        for (Long first : removable) {
+            Segment segment = segments.remove(first);
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.file);
+                logger.debug("Compacted journal segment {}", segment.file.getFileName());
+            } catch (IOException e) {
+                logger.warn("Could not delete committed journal segment {}: {}", segment.file, e.getMessage());
+            }
+        }
+    }
+
+    // Re-opens existing segments, keeping the longest valid prefix of the log
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(this::isSegment)
+                    .sorted((a, b) -> Long.compare(firstSequence(a), firstSequence(b)))
+                    .toList();
+        }
+
+        long expected = -1;
+        boolean truncated = false;
+        for (Path file : files) {
+            long first = firstSequence(file);
+            if (truncated || (expected != -1 && first != expected)) {
+                logger.warn("Dropping journal segment {} after a gap or corrupt record", file.getFileName());
+                Files.delete(file);
+                continue;
+            }
+
+            Segment segment = Segment.open(file, first);
+            if (!segment.scan()) {
+                logger.warn("Journal segment {} ends in a torn or corrupt record, truncating after sequence {}",
+                        file.getFileName(), segment.lastSequence());
+                segment.clearTail();
+                truncated = true;
+            }
+            if (segment.isEmpty()) {
+                // Left by a roll that crashed before its first append; roll() creates it again under the same name
+                logger.info("Removing empty journal segment {}", file.getFileName());
+                segment.close();
+                Files.delete(file);
+                continue;
+            }
+            segments.put(first, segment);
+            expected = segment.lastSequence() + 1;
+        }
+
+        nextSequence = Math.max(expected == -1 ? 1 : expected, committedSequence + 1);
+        active = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (active != null && active.lastSequence() + 1 != nextSequence) {
+            // Everything in it was committed and the checkpoint is ahead - start a fresh segment
+            active = null;
+        }
+        compact();
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() != 12) {
+            logger.warn("Ignoring malformed journal checkpoint, replaying the whole journal");
+            return 0;
+        }
+        long sequence = buffer.getLong(0);
+        if (buffer.getInt(8) != checksum(buffer, 0, 8)) {
+            logger.warn("Journal checkpoint checksum mismatch, replaying the whole journal");
+            return 0;
+        }
+        return sequence;
+    }
+
+    // Written to a temporary file and renamed so a crash leaves either the old or the new checkpoint
+    private void writeCheckpoint(long sequence) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        buffer.putLong(0, sequence);
+        buffer.putInt(8, checksum(buffer, 0, 8));
+
+        Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+    }
+
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the file contents themselves are already forced
+            logger.debug("Could not sync journal directory: {}", e.getMessage());
+        }
+    }
+
+    private boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private long firstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Ingest journal is closed");
+        }
+    }
+
+    private void ensureOpenUnchecked() {
+        if (closed) {
+            throw new IllegalStateException("Ingest journal is closed");
+        }
+    }
+
+    static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(offset).limit(offset + length));
+        return (int) crc.getValue();
+    }
+
+    // One memory-mapped segment file and the positions of its records
+    private static class Segment {
+        private final Path file;
+        private final long firstSequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final List<Integer> offsets = new ArrayList<>();
+        private int writePosition;
+
+        private Segment(Path file, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path file, long firstSequence, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(file, firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        static Segment open(Path file, long firstSequence) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(file, firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+
+        // Walks the records from the start; false if it stopped on a damaged record rather than the clean end
+        boolean scan() {
+            int position = 0;
+            boolean clean = true;
+            while (position + HEADER_BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length == 0) {
+                    break;
+                }
+                if (length < 0 || position + HEADER_BYTES + length > buffer.capacity()
+                        || buffer.getLong(position + 8) != firstSequence + offsets.size()
+                        || buffer.getInt(position + 4) != checksum(buffer, position + 8, 8 + length)) {
+                    clean = false;
+                    break;
+                }
+                offsets.add(position);
+                position += HEADER_BYTES + length;
+            }
+            writePosition = position;
+            return clean;
+        }
+
+        // Zeroes everything after the last valid record so stale bytes can never be read as a record
+        void clearTail() {
+            for (int i = writePosition; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+
+        boolean fits(int payloadLength) {
+            return writePosition + HEADER_BYTES + payloadLength <= buffer.capacity();
+        }
+
+        void write(long sequence, byte[] payload) {
+            int position = writePosition;
+            buffer.putLong(position + 8, sequence);
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position + 4, checksum(buffer, position + 8, 8 + payload.length));
+            buffer.putInt(position, payload.length);
+
+            offsets.add(position);
+            writePosition = position + HEADER_BYTES + payload.length;
+        }
+
+        byte[] read(long sequence) {
+            int position = offsets.get((int) (sequence - firstSequence));
+            byte[] payload = new byte[buffer.getInt(position)];
+            buffer.get(position + HEADER_BYTES, payload);
+            return payload;
+        }
+
+        long lastSequence() {
+            return firstSequence + offsets.size() - 1;
+        }
+
+        boolean isEmpty() {
+            return offsets.isEmpty();
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Could not close journal segment {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.energyauctions.french_auction_scraper.journal;
+
+// One record read back from the journal; sequences start at 1 and have no gaps
+public record JournalEntry(long sequence, byte[] payload) {
+}
@@ -0,0 +1,11 @@
+package com.energyauctions.french_auction_scraper.journal;
+
+import java.io.IOException;
+
+// Thrown when the drainer falls so far behind that appending would exceed the journal's pending limit
+public class JournalFullException extends IOException {
+
+    public JournalFullException(String message) {
+        super(message);
+    }
+}
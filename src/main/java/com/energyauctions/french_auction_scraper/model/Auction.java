@@ -1,13 +1,19 @@
 package com.energyauctions.french_auction_scraper.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "auctions")
+// One auction per date and production month; the scraper, the journal replay and the bulk import all rely on it
+@Table(name = "auctions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"auction_date", "production_month"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "auction")
 public class Auction {
 
     @Id
@@ -28,10 +34,12 @@ public class Auction {
 
     // One auction has many regional results
     @OneToMany(mappedBy = "auction", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "auction-regions")
     private List<AuctionRegion> regions;
 
     // One auction has many technology results
     @OneToMany(mappedBy = "auction", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "auction-technologies")
     private List<AuctionTechnology> technologies;
 
     // Constructors
@@ -3,11 +3,15 @@ package com.energyauctions.french_auction_scraper.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "auction_regions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "auction-region")
 public class AuctionRegion {
 
     @Id
@@ -29,7 +33,8 @@ public class AuctionRegion {
     @Column(name = "volume_allocated", nullable = false)
     private Integer volumeAllocated;
 
-    @Column(name = "weighted_avg_price", nullable = false)
+    // Null when EEX published no price ("-"), e.g. nothing was allocated
+    @Column(name = "weighted_avg_price")
     private BigDecimal weightedAvgPrice;
 
     @Column(name = "created_at")
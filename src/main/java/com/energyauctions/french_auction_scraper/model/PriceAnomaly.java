@@ -0,0 +1,150 @@
+package com.energyauctions.french_auction_scraper.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// An ingested value that was further from its history than the configured z-score threshold
+@Entity
+@Table(name = "price_anomalies")
+public class PriceAnomaly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "auction_date", nullable = false)
+    private LocalDate auctionDate;
+
+    @Column(name = "production_month", nullable = false)
+    private String productionMonth;
+
+    @Column(name = "dimension", nullable = false, length = 16)
+    private String dimension;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "metric", nullable = false, length = 16)
+    private String metric;
+
+    @Column(name = "observed_value", nullable = false)
+    private double value;
+
+    // History the value was compared against, before it was added
+    @Column(name = "mean", nullable = false)
+    private double mean;
+
+    @Column(name = "std_dev", nullable = false)
+    private double stdDev;
+
+    @Column(name = "z_score", nullable = false)
+    private double zScore;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public PriceAnomaly() {}
+
+    public PriceAnomaly(Auction auction, PriceStatistic statistic, double value, double stdDev, double zScore) {
+        this.auctionDate = auction.getAuctionDate();
+        this.productionMonth = auction.getProductionMonth();
+        this.dimension = statistic.getDimension();
+        this.name = statistic.getName();
+        this.metric = statistic.getMetric();
+        this.value = value;
+        this.mean = statistic.getMean();
+        this.stdDev = stdDev;
+        this.zScore = zScore;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getAuctionDate() {
+        return auctionDate;
+    }
+
+    public void setAuctionDate(LocalDate auctionDate) {
+        this.auctionDate = auctionDate;
+    }
+
+    public String getProductionMonth() {
+        return productionMonth;
+    }
+
+    public void setProductionMonth(String productionMonth) {
+        this.productionMonth = productionMonth;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getStdDev() {
+        return stdDev;
+    }
+
+    public void setStdDev(double stdDev) {
+        this.stdDev = stdDev;
+    }
+
+    @JsonProperty("zScore")
+    public double getZScore() {
+        return zScore;
+    }
+
+    public void setZScore(double zScore) {
+        this.zScore = zScore;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,151 @@
+package com.energyauctions.french_auction_scraper.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Running summary of one metric for one region or technology, updated on every ingest
+@Entity
+@Table(name = "price_statistics",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"dimension", "name", "metric"}))
+public class PriceStatistic {
+
+    public static final String REGION = "REGION";
+    public static final String TECHNOLOGY = "TECHNOLOGY";
+
+    public static final String PRICE = "PRICE";
+    public static final String ALLOCATION_RATIO = "ALLOCATION_RATIO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // REGION or TECHNOLOGY
+    @Column(name = "dimension", nullable = false, length = 16)
+    private String dimension;
+
+    // Region name or technology type
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    // PRICE (weighted average €/MWh) or ALLOCATION_RATIO (allocated / offered)
+    @Column(name = "metric", nullable = false, length = 16)
+    private String metric;
+
+    @Column(name = "sample_count", nullable = false)
+    private long count;
+
+    @Column(name = "mean", nullable = false)
+    private double mean;
+
+    // Sum of squared deviations from the mean (Welford), variance = m2 / (count - 1)
+    @Column(name = "m2", nullable = false)
+    private double m2;
+
+    @Column(name = "ewma", nullable = false)
+    private double ewma;
+
+    @Column(name = "min_value", nullable = false)
+    private double min;
+
+    @Column(name = "max_value", nullable = false)
+    private double max;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public PriceStatistic() {}
+
+    public PriceStatistic(String dimension, String name, String metric) {
+        this.dimension = dimension;
+        this.name = name;
+        this.metric = metric;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getM2() {
+        return m2;
+    }
+
+    public void setM2(double m2) {
+        this.m2 = m2;
+    }
+
+    public double getEwma() {
+        return ewma;
+    }
+
+    public void setEwma(double ewma) {
+        this.ewma = ewma;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
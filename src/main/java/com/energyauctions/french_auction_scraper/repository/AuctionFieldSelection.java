@@ -0,0 +1,135 @@
+package com.energyauctions.french_auction_scraper.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed value of the ?fields= request parameter.
+ *
+ * Accepts a comma separated list such as "auctionDate,regions.regionName,regions.weightedAvgPrice".
+ * "regions" or "technologies" on their own select every result column of that table.
+ * Only whitelisted names are accepted, each mapped to a fixed JPQL path, so the
+ * parameter can never inject anything into the generated queries.
+ */
+public class AuctionFieldSelection {
+
+    static final String REGIONS_PREFIX = "regions.";
+    static final String TECHNOLOGIES_PREFIX = "technologies.";
+
+    private static final Map<String, String> AUCTION_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, String> REGION_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, String> TECHNOLOGY_FIELDS = new LinkedHashMap<>();
+
+    static {
+        AUCTION_FIELDS.put("id", "a.id");
+        AUCTION_FIELDS.put("auctionDate", "a.auctionDate");
+        AUCTION_FIELDS.put("productionMonth", "a.productionMonth");
+        AUCTION_FIELDS.put("reservePrice", "a.reservePrice");
+        AUCTION_FIELDS.put("createdAt", "a.createdAt");
+
+        REGION_FIELDS.put("regionName", "r.regionName");
+        REGION_FIELDS.put("volumeOffered", "r.volumeOffered");
+        REGION_FIELDS.put("volumeAllocated", "r.volumeAllocated");
+        REGION_FIELDS.put("weightedAvgPrice", "r.weightedAvgPrice");
+        REGION_FIELDS.put("createdAt", "r.createdAt");
+
+        TECHNOLOGY_FIELDS.put("technologyType", "t.technologyType");
+        TECHNOLOGY_FIELDS.put("volumeOffered", "t.volumeOffered");
+        TECHNOLOGY_FIELDS.put("volumeAllocated", "t.volumeAllocated");
+        TECHNOLOGY_FIELDS.put("weightedAvgPrice", "t.weightedAvgPrice");
+        TECHNOLOGY_FIELDS.put("createdAt", "t.createdAt");
+    }
+
+    private final List<String> auctionFields;
+    private final List<String> regionFields;
+    private final List<String> technologyFields;
+
+    private AuctionFieldSelection(List<String> auctionFields, List<String> regionFields, List<String> technologyFields) {
+        this.auctionFields = Collections.unmodifiableList(auctionFields);
+        this.regionFields = Collections.unmodifiableList(regionFields);
+        this.technologyFields = Collections.unmodifiableList(technologyFields);
+    }
+
+    public static AuctionFieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            throw new IllegalArgumentException("fields must not be empty");
+        }
+
+        List<String> auctionFields = new ArrayList<>();
+        List<String> regionFields = new ArrayList<>();
+        List<String> technologyFields = new ArrayList<>();
+
+        for (String raw : fields.split(",")) {
+            String field = raw.trim();
+            if (field.isEmpty()) continue;
+
+            if (field.equals("regions")) {
+                // Whole rows, without the bookkeeping timestamp
+                REGION_FIELDS.keySet().stream().filter(f -> !f.equals("createdAt")).forEach(f -> addOnce(regionFields, f));
+            } else if (field.equals("technologies")) {
+                TECHNOLOGY_FIELDS.keySet().stream().filter(f -> !f.equals("createdAt")).forEach(f -> addOnce(technologyFields, f));
+            } else if (field.startsWith(REGIONS_PREFIX)) {
+                addKnown(REGION_FIELDS, regionFields, field, field.substring(REGIONS_PREFIX.length()));
+            } else if (field.startsWith(TECHNOLOGIES_PREFIX)) {
+                addKnown(TECHNOLOGY_FIELDS, technologyFields, field, field.substring(TECHNOLOGIES_PREFIX.length()));
+            } else {
+                addKnown(AUCTION_FIELDS, auctionFields, field, field);
+            }
+        }
+
+        if (auctionFields.isEmpty() && regionFields.isEmpty() && technologyFields.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one column");
+        }
+
+        return new AuctionFieldSelection(auctionFields, regionFields, technologyFields);
+    }
+
+    private static void addKnown(Map<String, String> known, List<String> target, String requested, String name) {
+        if (!known.containsKey(name)) {
+            throw new IllegalArgumentException("Unknown field: " + requested);
+        }
+        addOnce(target, name);
+    }
+
+    private static void addOnce(List<String> target, String name) {
+        if (!target.contains(name)) {
+            target.add(name);
+        }
+    }
+
+    public List<String> getAuctionFields() {
+        return auctionFields;
+    }
+
+    public List<String> getRegionFields() {
+        return regionFields;
+    }
+
+    public List<String> getTechnologyFields() {
+        return technologyFields;
+    }
+
+    public boolean hasRegions() {
+        return !regionFields.isEmpty();
+    }
+
+    public boolean hasTechnologies() {
+        return !technologyFields.isEmpty();
+    }
+
+    // JPQL select item for a field, aliased to the field name so results can be read back from a Tuple
+    String auctionSelect(String field) {
+        return AUCTION_FIELDS.get(field) + " AS " + field;
+    }
+
+    String regionSelect(String field) {
+        return REGION_FIELDS.get(field) + " AS " + field;
+    }
+
+    String technologySelect(String field) {
+        return TECHNOLOGY_FIELDS.get(field) + " AS " + field;
+    }
+}
@@ -0,0 +1,16 @@
+package com.energyauctions.french_auction_scraper.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Column-limited reads behind the ?fields= parameter - only the selected columns are queried
+public interface AuctionProjectionRepository {
+
+    List<Map<String, Object>> findAllProjected(AuctionFieldSelection fields);
+
+    List<Map<String, Object>> findByAuctionDateBetweenProjected(AuctionFieldSelection fields, LocalDate startDate, LocalDate endDate);
+
+    Optional<Map<String, Object>> findLatestProjected(AuctionFieldSelection fields);
+}
@@ -0,0 +1,129 @@
+package com.energyauctions.french_auction_scraper.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Spring Data fragment implementing AuctionProjectionRepository.
+ *
+ * Runs one query for the auction columns and, only when requested, one query each for
+ * region and technology columns of the selected auctions. Results are plain maps in the
+ * same shape as the full entity JSON, minus the columns that were not asked for.
+ */
+public class AuctionProjectionRepositoryImpl implements AuctionProjectionRepository {
+
+    private static final String AUCTION_KEY = "auctionKey";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllProjected(AuctionFieldSelection fields) {
+        return project(fields, "", Map.of(), null);
+    }
+
+    @Override
+    public List<Map<String, Object>> findByAuctionDateBetweenProjected(AuctionFieldSelection fields,
+                                                                       LocalDate startDate, LocalDate endDate) {
+        return project(fields, " WHERE a.auctionDate BETWEEN :startDate AND :endDate",
+                Map.of("startDate", startDate, "endDate", endDate), null);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findLatestProjected(AuctionFieldSelection fields) {
+        return project(fields, "", Map.of(), 1).stream().findFirst();
+    }
+
+    private List<Map<String, Object>> project(AuctionFieldSelection fields, String where,
+                                              Map<String, Object> parameters, Integer maxResults) {
+        StringBuilder jpql = new StringBuilder("SELECT a.id AS ").append(AUCTION_KEY);
+        for (String field : fields.getAuctionFields()) {
+            jpql.append(", ").append(fields.auctionSelect(field));
+        }
+        jpql.append(" FROM Auction a").append(where).append(" ORDER BY a.auctionDate DESC");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (maxResults != null) {
+            query.setMaxResults(maxResults);
+        }
+
+        // Keep the query order while giving the child queries a way back to their auction
+        Map<Long, Map<String, Object>> auctions = new LinkedHashMap<>();
+        for (Tuple row : query.getResultList()) {
+            Map<String, Object> auction = new LinkedHashMap<>();
+            for (String field : fields.getAuctionFields()) {
+                auction.put(field, row.get(field));
+            }
+            auctions.put(row.get(AUCTION_KEY, Long.class), auction);
+        }
+
+        // Child rows are selected by the parent predicate rather than by an id list, which would grow with
+        // the result and run into the bind parameter limit. JPQL subqueries cannot be limited, so a
+        // limited query (latest) passes its few ids instead.
+        String parents;
+        Map<String, Object> parentParameters;
+        if (maxResults == null) {
+            parents = "SELECT a.id FROM Auction a" + where;
+            parentParameters = parameters;
+        } else {
+            parents = ":ids";
+            parentParameters = Map.of("ids", auctions.keySet());
+        }
+
+        if (!auctions.isEmpty() && fields.hasRegions()) {
+            attachChildren(auctions, "regions", "AuctionRegion r", "r", parents, parentParameters,
+                    fields.getRegionFields().stream().map(fields::regionSelect).collect(Collectors.toList()),
+                    fields.getRegionFields());
+        }
+
+        if (!auctions.isEmpty() && fields.hasTechnologies()) {
+            attachChildren(auctions, "technologies", "AuctionTechnology t", "t", parents, parentParameters,
+                    fields.getTechnologyFields().stream().map(fields::technologySelect).collect(Collectors.toList()),
+                    fields.getTechnologyFields());
+        }
+
+        return new ArrayList<>(auctions.values());
+    }
+
+    private void attachChildren(Map<Long, Map<String, Object>> auctions, String property, String from, String alias,
+                                String parents, Map<String, Object> parameters, List<String> selects, List<String> fieldNames) {
+        for (Map<String, Object> auction : auctions.values()) {
+            auction.put(property, new ArrayList<Map<String, Object>>());
+        }
+
+        String jpql = "SELECT " + alias + ".auction.id AS " + AUCTION_KEY + ", " + String.join(", ", selects)
+                + " FROM " + from + " WHERE " + alias + ".auction.id IN (" + parents + ") ORDER BY " + alias + ".id";
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        parameters.forEach(query::setParameter);
+        List<Tuple> rows = query.getResultList();
+
+        for (Tuple row : rows) {
+            Map<String, Object> child = new LinkedHashMap<>();
+            for (String field : fieldNames) {
+                child.put(field, row.get(field));
+            }
+
+            // An auction committed between the two queries matches the predicate but is not in the result
+            Map<String, Object> auction = auctions.get(row.get(AUCTION_KEY, Long.class));
+            if (auction == null) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> children = (List<Map<String, Object>>) auction.get(property);
+            children.add(child);
+        }
+    }
+}
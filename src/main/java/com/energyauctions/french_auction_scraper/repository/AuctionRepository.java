@@ -1,8 +1,11 @@
 package com.energyauctions.french_auction_scraper.repository;
 
 import com.energyauctions.french_auction_scraper.model.Auction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -10,17 +13,32 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AuctionRepository extends JpaRepository<Auction, Long> {
+public interface AuctionRepository extends JpaRepository<Auction, Long>, AuctionProjectionRepository {
 
     Optional<Auction> findByAuctionDateAndProductionMonth(LocalDate auctionDate, String productionMonth);
 
     // Get the most recent auction - uses Spring Data JPA method naming convention
     // Regions and technologies will be loaded automatically when the frontend accesses them
+    // The dashboard read queries below go through the Hibernate query cache; AuctionCacheService evicts them on ingest
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Auction> findTopByOrderByAuctionDateDesc();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Auction> findByAuctionDateBetweenOrderByAuctionDateDesc(LocalDate startDate, LocalDate endDate);
 
     // This avoids the MultipleBagFetchException that occurs when trying to fetch multiple @OneToMany collections in one query
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT a FROM Auction a ORDER BY a.auctionDate DESC")
     List<Auction> findAllAuctions();
-}
\ No newline at end of file
+
+    // Flat result rows for the in-memory comparison index, loaded once at startup
+    @Query("SELECT r.regionName AS name, a.auctionDate AS auctionDate, a.productionMonth AS productionMonth, "
+            + "r.volumeOffered AS volumeOffered, r.volumeAllocated AS volumeAllocated, r.weightedAvgPrice AS weightedAvgPrice "
+            + "FROM AuctionRegion r JOIN r.auction a")
+    List<AuctionResultRow> findAllRegionResults();
+
+    @Query("SELECT t.technologyType AS name, a.auctionDate AS auctionDate, a.productionMonth AS productionMonth, "
+            + "t.volumeOffered AS volumeOffered, t.volumeAllocated AS volumeAllocated, t.weightedAvgPrice AS weightedAvgPrice "
+            + "FROM AuctionTechnology t JOIN t.auction a")
+    List<AuctionResultRow> findAllTechnologyResults();
+}
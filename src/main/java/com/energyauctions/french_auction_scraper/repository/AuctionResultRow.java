@@ -0,0 +1,20 @@
+package com.energyauctions.french_auction_scraper.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Flat region or technology result with its auction date, used to build the comparison index
+public interface AuctionResultRow {
+
+    String getName();
+
+    LocalDate getAuctionDate();
+
+    String getProductionMonth();
+
+    Integer getVolumeOffered();
+
+    Integer getVolumeAllocated();
+
+    BigDecimal getWeightedAvgPrice();
+}
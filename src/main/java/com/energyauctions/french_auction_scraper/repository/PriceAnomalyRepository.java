@@ -0,0 +1,15 @@
+package com.energyauctions.french_auction_scraper.repository;
+
+import com.energyauctions.french_auction_scraper.model.PriceAnomaly;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PriceAnomalyRepository extends JpaRepository<PriceAnomaly, Long> {
+
+    // Newest first, limited by the pageable - used to fill the in-memory anomaly list at startup
+    List<PriceAnomaly> findAllByOrderByIdDesc(Pageable pageable);
+}
@@ -0,0 +1,18 @@
+package com.energyauctions.french_auction_scraper.repository;
+
+import com.energyauctions.french_auction_scraper.model.PriceStatistic;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PriceStatisticRepository extends JpaRepository<PriceStatistic, Long> {
+
+    // SELECT ... FOR UPDATE in id order: concurrent ingests wait for each other instead of
+    // overwriting each other's running sums, and always take the row locks in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PriceStatistic> findAllByOrderByIdAsc();
+}
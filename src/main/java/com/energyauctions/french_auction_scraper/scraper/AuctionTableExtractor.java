@@ -0,0 +1,274 @@
+package com.energyauctions.french_auction_scraper.scraper;
+
+import org.jsoup.nodes.Element;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Auction Table Extractor
+ *
+ * Reads one EEX results table (regions or technologies) by header text instead of fixed cell
+ * positions, so reordered or added columns still parse.
+ *
+ * Key Functions:
+ * - Picks the table whose header row names this extractor's first column ("Region" / "Technology")
+ * - Maps name, volume offered, volume allocated and price columns from that header row once
+ * - Walks the remaining rows in a single pass: no per-row selectors, colspans respected,
+ *   single-cell heading rows skipped
+ * - Rejects rows whose cells are not plain volumes / prices and rows with more allocated than offered volume
+ * - Reads a "-" or empty price cell (nothing allocated, no price set) as a row without a price
+ * - Checks a "Total" row, when present, against the sum of the rows above it
+ * - Reports rows seen / parsed / rejected and every issue as a TableQuality
+ *
+ * Instances hold no per-page state and are shared.
+ */
+public final class AuctionTableExtractor {
+
+    public static final AuctionTableExtractor REGIONS = new AuctionTableExtractor("regions", "region");
+    public static final AuctionTableExtractor TECHNOLOGIES = new AuctionTableExtractor("technologies", "technology");
+
+    private static final int NAME = 0;
+    private static final int OFFERED = 1;
+    private static final int ALLOCATED = 2;
+    private static final int PRICE = 3;
+    private static final String[] COLUMN_NAMES = {"name", "volumeOffered", "volumeAllocated", "weightedAvgPrice"};
+
+    // Price is matched first so "Weighted average price of allocated volume" is not taken for the allocated column
+    private static final int[] MATCH_ORDER = {NAME, PRICE, OFFERED, ALLOCATED};
+
+    // Enough to see what went wrong without flooding the log when a whole table breaks
+    private static final int MAX_ISSUES = 20;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Whole-cell formats only, so a heading or note that happens to contain a number is not read as data
+    private static final Pattern VOLUME_FORMAT = Pattern.compile(
+            "(\\d{1,3}(?:[., \u00A0\u202F]\\d{3})+|\\d+)(?:\\s*MWh)?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern VOLUME_SEPARATORS = Pattern.compile("[., \u00A0\u202F]");
+    private static final Pattern PRICE_FORMAT = Pattern.compile(
+            "(?:€\\s*)?(\\d+(?:[.,]\\d+)?)(?:\\s*€)?(?:\\s*/\\s*MWh)?", Pattern.CASE_INSENSITIVE);
+    // EEX leaves the price out when nothing was allocated; hyphen, en dash, em dash or minus sign
+    private static final Pattern NO_PRICE = Pattern.compile("[-\u2013\u2014\u2212]?");
+
+    private final String table;
+    private final String[] headerKeywords;
+
+    private AuctionTableExtractor(String table, String nameKeyword) {
+        this.table = table;
+        this.headerKeywords = new String[]{nameKeyword, "offered", "allocated", "price"};
+    }
+
+    // Extracts the first matching table in the section; a missing table comes back as an incomplete result
+    public ExtractedTable extract(Element section) {
+        long started = System.nanoTime();
+
+        for (Element candidate : section.getElementsByTag("table")) {
+            ExtractedTable extracted = extractTable(candidate, started);
+            if (extracted != null) {
+                return extracted;
+            }
+        }
+
+        return new ExtractedTable(List.of(), new TableQuality(table, Map.of(), 0, 0, 0, false,
+                List.of("No table with a '" + headerKeywords[NAME] + "' header row"), elapsed(started)));
+    }
+
+    // Null when the table has no header row for this extractor
+    private ExtractedTable extractTable(Element tableElement, long started) {
+        int[] columns = null;
+        int requiredCells = 0;
+
+        List<TableRow> rows = new ArrayList<>();
+        List<String> issues = new ArrayList<>();
+        int rowsSeen = 0;
+        int rejected = 0;
+        long offeredSum = 0;
+        long allocatedSum = 0;
+        boolean totalsChecked = false;
+
+        for (Element row : tableElement.getElementsByTag("tr")) {
+            RowCells rowCells = cellTexts(row);
+            List<String> cells = rowCells.texts();
+
+            // One cell spanning the table, e.g. a "March 2025" heading between blocks of rows
+            if (rowCells.sourceCells() == 1 && cells.size() > 1) {
+                continue;
+            }
+
+            int[] header = resolveHeader(cells);
+            if (header != null) {
+                if (columns == null) {
+                    columns = header;
+                    requiredCells = Math.max(Math.max(header[NAME], header[OFFERED]), Math.max(header[ALLOCATED], header[PRICE])) + 1;
+                }
+                // Repeated header rows inside the body are skipped
+                continue;
+            }
+            if (columns == null || isBlank(cells)) {
+                continue;
+            }
+
+            rowsSeen++;
+            if (cells.size() < requiredCells) {
+                rejected++;
+                issue(issues, "Row " + rowsSeen + " has " + cells.size() + " cells, expected " + requiredCells + ": " + cells);
+                continue;
+            }
+
+            String name = cells.get(columns[NAME]);
+            Integer offered = parseVolume(cells.get(columns[OFFERED]));
+            Integer allocated = parseVolume(cells.get(columns[ALLOCATED]));
+            String priceText = cells.get(columns[PRICE]);
+            boolean noPrice = NO_PRICE.matcher(priceText).matches();
+            BigDecimal price = noPrice ? null : parsePrice(priceText);
+            boolean total = name.toLowerCase(Locale.ROOT).startsWith("total");
+
+            if (name.isEmpty() || offered == null || allocated == null || (price == null && !noPrice && !total)) {
+                rejected++;
+                issue(issues, "Row " + rowsSeen + " did not parse: " + cells);
+                continue;
+            }
+            if (allocated > offered) {
+                rejected++;
+                issue(issues, "Row " + rowsSeen + " (" + name + ") allocates " + allocated + " of " + offered + " offered");
+                continue;
+            }
+
+            if (total) {
+                totalsChecked = true;
+                if (offered != offeredSum || allocated != allocatedSum) {
+                    issue(issues, "Total row " + offered + " offered / " + allocated + " allocated does not match rows "
+                            + offeredSum + " / " + allocatedSum);
+                }
+                continue;
+            }
+
+            offeredSum += offered;
+            allocatedSum += allocated;
+            rows.add(new TableRow(name, offered, allocated, price));
+        }
+
+        if (columns == null) {
+            return null;
+        }
+
+        Map<String, Integer> columnMap = new LinkedHashMap<>();
+        for (int column = 0; column < COLUMN_NAMES.length; column++) {
+            columnMap.put(COLUMN_NAMES[column], columns[column]);
+        }
+        if (rows.isEmpty() && rejected == 0) {
+            issue(issues, "Table has a header row but no data rows");
+        }
+
+        return new ExtractedTable(List.copyOf(rows), new TableQuality(table, columnMap, rowsSeen, rows.size(), rejected,
+                totalsChecked, List.copyOf(issues), elapsed(started)));
+    }
+
+    // Column position of each logical column, or null when the row is not an unambiguous header for this table
+    private int[] resolveHeader(List<String> cells) {
+        int[] columns = {-1, -1, -1, -1};
+        for (int cell = 0; cell < cells.size(); cell++) {
+            String text = cells.get(cell).toLowerCase(Locale.ROOT);
+            for (int column : MATCH_ORDER) {
+                if (text.contains(headerKeywords[column])) {
+                    if (columns[column] < 0) {
+                        columns[column] = cell;
+                    } else if (!cells.get(columns[column]).equals(cells.get(cell))) {
+                        // Two different headers for one column; the same text again is just a colspan
+                        return null;
+                    }
+                    break;
+                }
+            }
+        }
+
+        for (int column : columns) {
+            if (column < 0) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    // Cell texts by visual column plus the number of td/th elements they came from
+    private record RowCells(List<String> texts, int sourceCells) {}
+
+    // A cell spanning n columns occupies n positions
+    private RowCells cellTexts(Element row) {
+        List<String> cells = new ArrayList<>();
+        int sourceCells = 0;
+        for (Element cell : row.children()) {
+            String tag = cell.normalName();
+            if (!tag.equals("td") && !tag.equals("th")) {
+                continue;
+            }
+
+            sourceCells++;
+            String text = extractCellText(cell);
+            int span = parseSpan(cell.attr("colspan"));
+            for (int i = 0; i < span; i++) {
+                cells.add(text);
+            }
+        }
+        return new RowCells(cells, sourceCells);
+    }
+
+    private String extractCellText(Element cell) {
+        // Try to get text from <p> tag first, fallback to direct text
+        Element pTag = cell.getElementsByTag("p").first();
+        String text = pTag != null ? pTag.text() : cell.text();
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ");
+    }
+
+    // Parse volume numbers like "236.995", "1.943.184" or "1 943 184 MWh"; separators must group by three
+    private Integer parseVolume(String volumeText) {
+        Matcher matcher = VOLUME_FORMAT.matcher(volumeText);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String digits = VOLUME_SEPARATORS.matcher(matcher.group(1)).replaceAll("");
+        return digits.length() > 9 ? null : Integer.parseInt(digits);
+    }
+
+    // Parse price values like "€ 0.50", "0,49 €" or "0.49 €/MWh"
+    private BigDecimal parsePrice(String priceText) {
+        Matcher matcher = PRICE_FORMAT.matcher(priceText);
+        return matcher.matches() ? new BigDecimal(matcher.group(1).replace(",", ".")) : null;
+    }
+
+    private int parseSpan(String colspan) {
+        if (colspan.isEmpty()) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Math.min(Integer.parseInt(colspan.trim()), 16));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private boolean isBlank(List<String> cells) {
+        for (String cell : cells) {
+            if (!cell.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void issue(List<String> issues, String issue) {
+        if (issues.size() < MAX_ISSUES) {
+            issues.add(issue);
+        }
+    }
+
+    private double elapsed(long started) {
+        return (System.nanoTime() - started) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.energyauctions.french_auction_scraper.scraper;
+
+import java.util.List;
+
+// Rows of one results table together with how well they parsed
+public record ExtractedTable(List<TableRow> rows, TableQuality quality) {
+}
@@ -0,0 +1,18 @@
+package com.energyauctions.french_auction_scraper.scraper;
+
+import java.util.List;
+
+// Thrown when a results table is missing or failed validation, so a partially parsed auction is never journaled
+public class TableExtractionException extends RuntimeException {
+
+    private final List<TableQuality> quality;
+
+    public TableExtractionException(String message, List<TableQuality> quality) {
+        super(message);
+        this.quality = quality;
+    }
+
+    public List<TableQuality> getQuality() {
+        return quality;
+    }
+}
@@ -0,0 +1,13 @@
+package com.energyauctions.french_auction_scraper.scraper;
+
+import java.util.List;
+import java.util.Map;
+
+// Parse quality of one results table; a table is complete only when nothing was rejected and every check passed
+public record TableQuality(String table, Map<String, Integer> columns, int rowsSeen, int rowsParsed,
+                           int rowsRejected, boolean totalsChecked, List<String> issues, double millis) {
+
+    public boolean isComplete() {
+        return rowsParsed > 0 && rowsRejected == 0 && issues.isEmpty();
+    }
+}
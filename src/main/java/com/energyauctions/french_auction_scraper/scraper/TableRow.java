@@ -0,0 +1,7 @@
+package com.energyauctions.french_auction_scraper.scraper;
+
+import java.math.BigDecimal;
+
+// One parsed data row of a results table; name is the region or technology, price is null when none was set
+public record TableRow(String name, int volumeOffered, int volumeAllocated, BigDecimal weightedAvgPrice) {
+}
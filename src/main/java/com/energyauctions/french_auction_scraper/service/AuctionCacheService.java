@@ -0,0 +1,78 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Auction Cache Service
+ *
+ * Owns the Hibernate second-level cache (Caffeine via JCache, limits in application.conf)
+ * that sits in front of the dashboard read queries in AuctionRepository.
+ *
+ * Key Functions:
+ * - Evicts cached auction queries and region/technology collections after a new auction is saved
+ * - Exposes hit/miss/put counters from Hibernate statistics for the /cache/stats endpoint
+ */
+@Service
+public class AuctionCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionCacheService.class);
+
+    private static final String REGIONS_ROLE = Auction.class.getName() + ".regions";
+    private static final String TECHNOLOGIES_ROLE = Auction.class.getName() + ".technologies";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Called by the scraper after saving a new auction so the next dashboard hit sees it
+    public void evictAuctionQueries() {
+        Cache cache = sessionFactory().getCache();
+        cache.evictQueryRegions();
+        cache.evictCollectionData(REGIONS_ROLE);
+        cache.evictCollectionData(TECHNOLOGIES_ROLE);
+        logger.info("Evicted cached auction queries and collections");
+    }
+
+    // Drops everything, including cached entities - used by benchmarks and bulk changes
+    public void evictAll() {
+        sessionFactory().getCache().evictAllRegions();
+        logger.info("Evicted all second-level cache regions");
+    }
+
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", statistics.isStatisticsEnabled());
+        stats.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        stats.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        stats.put("secondLevelCachePuts", statistics.getSecondLevelCachePutCount());
+        stats.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        stats.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        stats.put("queryCachePuts", statistics.getQueryCachePutCount());
+        stats.put("queryExecutions", statistics.getQueryExecutionCount());
+        stats.put("preparedStatements", statistics.getPrepareStatementCount());
+        stats.put("hitRatio", hitRatio(statistics));
+        return stats;
+    }
+
+    private double hitRatio(Statistics statistics) {
+        long hits = statistics.getSecondLevelCacheHitCount() + statistics.getQueryCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount() + statistics.getQueryCacheMissCount();
+        return hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
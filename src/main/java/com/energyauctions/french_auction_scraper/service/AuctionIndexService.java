@@ -0,0 +1,396 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.model.AuctionRegion;
+import com.energyauctions.french_auction_scraper.model.AuctionTechnology;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import com.energyauctions.french_auction_scraper.repository.AuctionResultRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Auction Index Service
+ *
+ * In-memory inverted index from region name and technology type to that series' results,
+ * ordered by auction date. Answers "how did X compare over the last N auctions" without
+ * touching the database.
+ *
+ * Key Functions:
+ * - Built from AuctionRegion / AuctionTechnology at startup or on first use, extended when a new auction is stored
+ * - Top-K series by average price, volume or allocation ratio over the last N auctions
+ * - Period-over-period deltas for one series
+ * - Head-to-head comparison of two series, aligned on auction (date and production month)
+ *
+ * The index is an immutable snapshot swapped on every update, so readers never lock once it is built.
+ */
+@Service
+public class AuctionIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionIndexService.class);
+
+    private static final Map<String, ToDoubleFunction<IndexEntry>> METRICS = new LinkedHashMap<>();
+
+    static {
+        // NaN for results without a price; topK leaves them out of the average
+        METRICS.put("price", entry -> entry.price() == null ? Double.NaN : entry.price());
+        METRICS.put("offered", IndexEntry::volumeOffered);
+        METRICS.put("allocated", IndexEntry::volumeAllocated);
+        METRICS.put("allocationRatio", IndexEntry::allocationRatio);
+    }
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    // Null until first built - see current()
+    private volatile Snapshot snapshot;
+
+    public record IndexEntry(LocalDate auctionDate, String productionMonth, int volumeOffered, int volumeAllocated, Double price) {
+
+        public double allocationRatio() {
+            return volumeOffered == 0 ? 0 : (double) volumeAllocated / volumeOffered;
+        }
+
+        AuctionKey key() {
+            return new AuctionKey(auctionDate, productionMonth);
+        }
+    }
+
+    // One auction: EEX can hold auctions for several production months on the same date
+    record AuctionKey(LocalDate auctionDate, String productionMonth) implements Comparable<AuctionKey> {
+
+        private static final DateTimeFormatter MONTH = new DateTimeFormatterBuilder()
+                .parseCaseInsensitive().appendPattern("MMMM yyyy").toFormatter(Locale.ENGLISH);
+
+        // By date; auctions on the same date by production month ("March 2025"), text order if it does not parse
+        @Override
+        public int compareTo(AuctionKey other) {
+            int order = auctionDate.compareTo(other.auctionDate);
+            if (order != 0 || Objects.equals(productionMonth, other.productionMonth)) {
+                return order;
+            }
+            if (productionMonth == null || other.productionMonth == null) {
+                return productionMonth == null ? -1 : 1;
+            }
+
+            YearMonth month = month(productionMonth);
+            YearMonth otherMonth = month(other.productionMonth);
+            if (month != null && otherMonth != null && !month.equals(otherMonth)) {
+                return month.compareTo(otherMonth);
+            }
+            return productionMonth.compareTo(other.productionMonth);
+        }
+
+        private static YearMonth month(String productionMonth) {
+            try {
+                return YearMonth.parse(productionMonth.trim(), MONTH);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+
+    public record Ranking(String name, double value, int auctions) {}
+
+    public record Delta(LocalDate auctionDate, String productionMonth, Double price, int volumeOffered, int volumeAllocated,
+                        Double priceChange, Double priceChangePercent, Integer allocatedChange) {}
+
+    public record HeadToHead(LocalDate auctionDate, String productionMonth, IndexEntry first, IndexEntry second,
+                             Double priceDifference) {}
+
+    // Series maps are keyed by name; every list is sorted by auction (date, then production month)
+    // and never modified after publication
+    private record Snapshot(Map<String, List<IndexEntry>> regions, Map<String, List<IndexEntry>> technologies,
+                            List<AuctionKey> auctions) {}
+
+    // Warms the index once the application is up; requests arriving earlier build it themselves
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        current();
+    }
+
+    // Reloads everything from the database; holds the same lock as add() so no stored auction is dropped
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+
+        Map<String, List<IndexEntry>> regions = group(auctionRepository.findAllRegionResults());
+        Map<String, List<IndexEntry>> technologies = group(auctionRepository.findAllTechnologyResults());
+
+        snapshot = new Snapshot(regions, technologies, auctions(regions, technologies));
+        logger.info("Built auction index: {} regions, {} technologies, {} auctions in {} ms",
+                regions.size(), technologies.size(), snapshot.auctions().size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Adds a newly stored auction; only the affected series and the auction list are copied
+    public synchronized void add(Auction auction) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Not built yet - the first build reads this auction from the database
+            return;
+        }
+
+        Map<String, List<IndexEntry>> regions = new HashMap<>(current.regions());
+        if (auction.getRegions() != null) {
+            for (AuctionRegion region : auction.getRegions()) {
+                insert(regions, region.getRegionName(), entry(auction, region.getVolumeOffered(),
+                        region.getVolumeAllocated(), region.getWeightedAvgPrice()));
+            }
+        }
+
+        Map<String, List<IndexEntry>> technologies = new HashMap<>(current.technologies());
+        if (auction.getTechnologies() != null) {
+            for (AuctionTechnology technology : auction.getTechnologies()) {
+                insert(technologies, technology.getTechnologyType(), entry(auction, technology.getVolumeOffered(),
+                        technology.getVolumeAllocated(), technology.getWeightedAvgPrice()));
+            }
+        }
+
+        AuctionKey key = new AuctionKey(auction.getAuctionDate(), auction.getProductionMonth());
+        snapshot = new Snapshot(regions, technologies, withKey(current.auctions(), key));
+    }
+
+    // Series with the highest average metric over the last N auctions
+    public List<Ranking> topK(String dimension, String metric, int lastN, int k) {
+        Snapshot current = current();
+        ToDoubleFunction<IndexEntry> value = metric(metric);
+        AuctionKey from = cutoff(current, lastN);
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+
+        PriorityQueue<Ranking> best = new PriorityQueue<>(Comparator.comparingDouble(Ranking::value));
+        for (Map.Entry<String, List<IndexEntry>> series : series(current, dimension).entrySet()) {
+            List<IndexEntry> entries = series.getValue();
+            int start = firstIndexFrom(entries, from);
+            if (start == entries.size()) continue;
+
+            double sum = 0;
+            int counted = 0;
+            for (int i = start; i < entries.size(); i++) {
+                double entryValue = value.applyAsDouble(entries.get(i));
+                if (!Double.isNaN(entryValue)) {
+                    sum += entryValue;
+                    counted++;
+                }
+            }
+            if (counted == 0) continue;
+            best.add(new Ranking(series.getKey(), sum / counted, counted));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+
+        List<Ranking> rankings = new ArrayList<>(best);
+        rankings.sort(Comparator.comparingDouble(Ranking::value).reversed());
+        return rankings;
+    }
+
+    // Each of the last N results of one series with the change against the result before it
+    public List<Delta> deltas(String dimension, String name, int lastN) {
+        Snapshot current = current();
+        List<IndexEntry> entries = entries(current, dimension, name);
+        int start = firstIndexFrom(entries, cutoff(current, lastN));
+
+        List<Delta> deltas = new ArrayList<>(entries.size() - start);
+        for (int i = start; i < entries.size(); i++) {
+            IndexEntry entry = entries.get(i);
+            IndexEntry previous = i > 0 ? entries.get(i - 1) : null;
+
+            boolean priced = previous != null && entry.price() != null && previous.price() != null;
+
+            deltas.add(new Delta(entry.auctionDate(), entry.productionMonth(), entry.price(),
+                    entry.volumeOffered(), entry.volumeAllocated(),
+                    priced ? entry.price() - previous.price() : null,
+                    !priced || previous.price() == 0 ? null : (entry.price() - previous.price()) / previous.price() * 100,
+                    previous == null ? null : entry.volumeAllocated() - previous.volumeAllocated()));
+        }
+        return deltas;
+    }
+
+    // Both series side by side over the last N auctions; a side is null where it has no result
+    public List<HeadToHead> headToHead(String dimension, String first, String second, int lastN) {
+        Snapshot current = current();
+        List<IndexEntry> firstEntries = entries(current, dimension, first);
+        List<IndexEntry> secondEntries = entries(current, dimension, second);
+        AuctionKey from = cutoff(current, lastN);
+
+        int i = firstIndexFrom(firstEntries, from);
+        int j = firstIndexFrom(secondEntries, from);
+        List<HeadToHead> rows = new ArrayList<>();
+
+        // Merge walk over two date-ordered lists
+        while (i < firstEntries.size() || j < secondEntries.size()) {
+            IndexEntry a = i < firstEntries.size() ? firstEntries.get(i) : null;
+            IndexEntry b = j < secondEntries.size() ? secondEntries.get(j) : null;
+            int order = a == null ? 1 : b == null ? -1 : a.key().compareTo(b.key());
+
+            if (order == 0) {
+                rows.add(new HeadToHead(a.auctionDate(), a.productionMonth(), a, b,
+                        a.price() == null || b.price() == null ? null : a.price() - b.price()));
+                i++;
+                j++;
+            } else if (order < 0) {
+                rows.add(new HeadToHead(a.auctionDate(), a.productionMonth(), a, null, null));
+                i++;
+            } else {
+                rows.add(new HeadToHead(b.auctionDate(), b.productionMonth(), null, b, null));
+                j++;
+            }
+        }
+        return rows;
+    }
+
+    public List<String> names(String dimension) {
+        return series(current(), dimension).keySet().stream().sorted().toList();
+    }
+
+    // The published snapshot, built on first access so a cold start never answers from an empty index
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Map<String, List<IndexEntry>> series(Snapshot current, String dimension) {
+        if ("region".equalsIgnoreCase(dimension)) {
+            return current.regions();
+        }
+        if ("technology".equalsIgnoreCase(dimension)) {
+            return current.technologies();
+        }
+        throw new IllegalArgumentException("dimension must be region or technology, was '" + dimension + "'");
+    }
+
+    private List<IndexEntry> entries(Snapshot current, String dimension, String name) {
+        List<IndexEntry> entries = series(current, dimension).get(name);
+        if (entries == null) {
+            throw new NoSuchElementException("No " + dimension + " named '" + name + "'");
+        }
+        return entries;
+    }
+
+    private ToDoubleFunction<IndexEntry> metric(String metric) {
+        ToDoubleFunction<IndexEntry> value = METRICS.get(metric);
+        if (value == null) {
+            throw new IllegalArgumentException("metric must be one of " + METRICS.keySet() + ", was '" + metric + "'");
+        }
+        return value;
+    }
+
+    // Earliest auction that is still among the last N
+    private AuctionKey cutoff(Snapshot current, int lastN) {
+        if (lastN <= 0) {
+            throw new IllegalArgumentException("lastN must be positive");
+        }
+        List<AuctionKey> auctions = current.auctions();
+        return auctions.isEmpty() ? new AuctionKey(LocalDate.MIN, null) : auctions.get(Math.max(0, auctions.size() - lastN));
+    }
+
+    // Binary search for the first entry at or after the auction
+    private int firstIndexFrom(List<IndexEntry> entries, AuctionKey from) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries.get(middle).key().compareTo(from) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Map<String, List<IndexEntry>> group(List<AuctionResultRow> rows) {
+        Map<String, List<IndexEntry>> grouped = new HashMap<>();
+        for (AuctionResultRow row : rows) {
+            grouped.computeIfAbsent(row.getName(), name -> new ArrayList<>())
+                    .add(entry(row.getAuctionDate(), row.getProductionMonth(), row.getVolumeOffered(),
+                            row.getVolumeAllocated(), row.getWeightedAvgPrice()));
+        }
+
+        Map<String, List<IndexEntry>> sorted = new HashMap<>();
+        grouped.forEach((name, entries) -> {
+            entries.sort(Comparator.comparing(IndexEntry::key));
+            sorted.put(name, List.copyOf(entries));
+        });
+        return sorted;
+    }
+
+    // New auctions are usually the latest, so the position is searched from the end; a result for an
+    // auction already in the series replaces it
+    private void insert(Map<String, List<IndexEntry>> series, String name, IndexEntry entry) {
+        List<IndexEntry> entries = new ArrayList<>(series.getOrDefault(name, List.of()));
+        int position = entries.size();
+        while (position > 0 && entries.get(position - 1).key().compareTo(entry.key()) > 0) {
+            position--;
+        }
+        if (position > 0 && entries.get(position - 1).key().equals(entry.key())) {
+            entries.set(position - 1, entry);
+        } else {
+            entries.add(position, entry);
+        }
+        series.put(name, List.copyOf(entries));
+    }
+
+    private List<AuctionKey> auctions(Map<String, List<IndexEntry>> regions, Map<String, List<IndexEntry>> technologies) {
+        TreeSet<AuctionKey> auctions = new TreeSet<>();
+        regions.values().forEach(entries -> entries.forEach(entry -> auctions.add(entry.key())));
+        technologies.values().forEach(entries -> entries.forEach(entry -> auctions.add(entry.key())));
+        return List.copyOf(auctions);
+    }
+
+    // The sorted auction list with one more auction merged in, without rescanning the series
+    private List<AuctionKey> withKey(List<AuctionKey> auctions, AuctionKey key) {
+        int position = Collections.binarySearch(auctions, key);
+        if (position >= 0) {
+            return auctions;
+        }
+        List<AuctionKey> merged = new ArrayList<>(auctions.size() + 1);
+        merged.addAll(auctions.subList(0, -position - 1));
+        merged.add(key);
+        merged.addAll(auctions.subList(-position - 1, auctions.size()));
+        return List.copyOf(merged);
+    }
+
+    private IndexEntry entry(Auction auction, Integer offered, Integer allocated, BigDecimal price) {
+        return entry(auction.getAuctionDate(), auction.getProductionMonth(), offered, allocated, price);
+    }
+
+    private IndexEntry entry(LocalDate auctionDate, String productionMonth, Integer offered, Integer allocated, BigDecimal price) {
+        return new IndexEntry(auctionDate, productionMonth,
+                offered == null ? 0 : offered,
+                allocated == null ? 0 : allocated,
+                price == null ? null : price.doubleValue());
+    }
+}
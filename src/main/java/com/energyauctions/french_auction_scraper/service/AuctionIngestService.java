@@ -0,0 +1,81 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.journal.AuctionSink;
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Auction Ingest Service
+ *
+ * Database side of the ingest journal: stores a batch of drained auctions in one transaction.
+ * Auctions already present for the same auction date and production month are skipped, so a
+ * replayed batch never creates duplicates.
+ *
+ * Price statistics are updated inside the same transaction, so a failure there rolls the batch
+ * back and it is replayed. After the commit, the newly stored auctions are added to the
+ * comparison index and the cached auction queries are evicted.
+ */
+@Service
+public class AuctionIngestService implements AuctionSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionIngestService.class);
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private AuctionCacheService auctionCacheService;
+
+    @Autowired
+    private AuctionStatisticsService auctionStatisticsService;
+
+    @Autowired
+    private AuctionIndexService auctionIndexService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void persist(List<Auction> auctions) {
+        // Statistics are updated in the same transaction: if they fail, the batch rolls back and
+        // the journal replays it, so no stored auction is ever missing from price_statistics
+        List<Auction> saved = transactionTemplate.execute(status -> {
+            List<Auction> stored = new ArrayList<>();
+            for (Auction auction : auctions) {
+                if (auctionRepository.findByAuctionDateAndProductionMonth(
+                        auction.getAuctionDate(), auction.getProductionMonth()).isPresent()) {
+                    logger.info("Auction for {} (production: {}) already stored, skipping replay",
+                            auction.getAuctionDate(), auction.getProductionMonth());
+                    continue;
+                }
+                Auction savedAuction = auctionRepository.save(auction);
+                auctionStatisticsService.recordIngest(savedAuction);
+                stored.add(savedAuction);
+            }
+            return stored;
+        });
+
+        if (saved == null || saved.isEmpty()) {
+            return;
+        }
+
+        for (Auction auction : saved) {
+            logger.info("Saved new auction: {} regions, {} technologies",
+                    auction.getRegions() == null ? 0 : auction.getRegions().size(),
+                    auction.getTechnologies() == null ? 0 : auction.getTechnologies().size());
+
+            auctionIndexService.add(auction);
+        }
+
+        // Cached dashboard queries no longer include the newest auctions
+        auctionCacheService.evictAuctionQueries();
+    }
+}
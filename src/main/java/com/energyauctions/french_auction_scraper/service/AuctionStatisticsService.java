@@ -0,0 +1,240 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.model.AuctionRegion;
+import com.energyauctions.french_auction_scraper.model.AuctionTechnology;
+import com.energyauctions.french_auction_scraper.model.PriceAnomaly;
+import com.energyauctions.french_auction_scraper.model.PriceStatistic;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import com.energyauctions.french_auction_scraper.repository.PriceAnomalyRepository;
+import com.energyauctions.french_auction_scraper.repository.PriceStatisticRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Auction Statistics Service
+ *
+ * Keeps running statistics per region and per technology so price alerts never have to
+ * scan the auction_regions / auction_technologies history.
+ *
+ * Key Functions:
+ * - Updates count, mean and variance (Welford), EWMA and min/max on each ingested auction,
+ *   holding row locks so concurrent ingests and rebuilds cannot lose updates
+ * - Tracks two metrics per series: weighted average price and allocation ratio (allocated / offered)
+ * - Flags values whose z-score against the history exceeds auction.anomalies.z-threshold
+ * - Holds the most recent anomalies in memory so /api/auctions/anomalies is served in constant time
+ * - Rebuilds the summary table from existing auctions once, when it is empty at startup
+ */
+@Service
+public class AuctionStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionStatisticsService.class);
+
+    @Value("${auction.anomalies.z-threshold:3.0}")
+    private double zThreshold;
+
+    // Series need some history before a z-score means anything
+    @Value("${auction.anomalies.min-samples:6}")
+    private int minSamples;
+
+    @Value("${auction.anomalies.ewma-alpha:0.3}")
+    private double ewmaAlpha;
+
+    @Value("${auction.anomalies.retained:100}")
+    private int retained;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private PriceStatisticRepository priceStatisticRepository;
+
+    @Autowired
+    private PriceAnomalyRepository priceAnomalyRepository;
+
+    // Newest first, replaced as a whole so readers never see a partial update
+    private volatile List<PriceAnomaly> recentAnomalies = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (priceStatisticRepository.count() == 0 && auctionRepository.count() > 0) {
+            rebuild();
+        } else {
+            recentAnomalies = List.copyOf(priceAnomalyRepository.findAllByOrderByIdDesc(PageRequest.of(0, retained)));
+        }
+    }
+
+    // Called in the transaction that saves a new auction; returns the anomalies it raised.
+    // They only reach the in-memory list once that transaction commits, so a rolled-back batch
+    // cannot publish anomalies twice when it is replayed.
+    @Transactional
+    public List<PriceAnomaly> recordIngest(Auction auction) {
+        Map<String, PriceStatistic> statistics = loadStatistics();
+        List<PriceAnomaly> anomalies = observe(auction, statistics);
+
+        priceStatisticRepository.saveAll(statistics.values());
+        priceAnomalyRepository.saveAll(anomalies);
+        publishAfterCommit(anomalies);
+
+        if (!anomalies.isEmpty()) {
+            logger.warn("Auction {} ({}) raised {} anomalies", auction.getAuctionDate(), auction.getProductionMonth(), anomalies.size());
+        }
+        return anomalies;
+    }
+
+    // Recomputes every summary by replaying all stored auctions in date order
+    @Transactional
+    public void rebuild() {
+        logger.info("Rebuilding price statistics from stored auctions");
+        priceAnomalyRepository.deleteAllInBatch();
+        priceStatisticRepository.deleteAllInBatch();
+
+        Map<String, PriceStatistic> statistics = new HashMap<>();
+        List<PriceAnomaly> anomalies = new ArrayList<>();
+        for (Auction auction : auctionRepository.findAll(Sort.by("auctionDate"))) {
+            anomalies.addAll(observe(auction, statistics));
+        }
+
+        priceStatisticRepository.saveAll(statistics.values());
+        priceAnomalyRepository.saveAll(anomalies);
+        replaceAnomalies(anomalies);
+
+        logger.info("Rebuilt {} price statistics, {} anomalies", statistics.size(), anomalies.size());
+    }
+
+    public List<PriceAnomaly> getRecentAnomalies() {
+        return recentAnomalies;
+    }
+
+    public double getZThreshold() {
+        return zThreshold;
+    }
+
+    private List<PriceAnomaly> observe(Auction auction, Map<String, PriceStatistic> statistics) {
+        List<PriceAnomaly> anomalies = new ArrayList<>();
+
+        if (auction.getRegions() != null) {
+            for (AuctionRegion region : auction.getRegions()) {
+                observeRow(auction, statistics, PriceStatistic.REGION, region.getRegionName(),
+                        region.getWeightedAvgPrice(), region.getVolumeOffered(), region.getVolumeAllocated(), anomalies);
+            }
+        }
+
+        if (auction.getTechnologies() != null) {
+            for (AuctionTechnology technology : auction.getTechnologies()) {
+                observeRow(auction, statistics, PriceStatistic.TECHNOLOGY, technology.getTechnologyType(),
+                        technology.getWeightedAvgPrice(), technology.getVolumeOffered(), technology.getVolumeAllocated(), anomalies);
+            }
+        }
+
+        return anomalies;
+    }
+
+    private void observeRow(Auction auction, Map<String, PriceStatistic> statistics, String dimension, String name,
+                            BigDecimal price, Integer offered, Integer allocated, List<PriceAnomaly> anomalies) {
+        if (price != null) {
+            observeValue(auction, statistics, dimension, name, PriceStatistic.PRICE, price.doubleValue(), anomalies);
+        }
+        if (offered != null && allocated != null && offered > 0) {
+            observeValue(auction, statistics, dimension, name, PriceStatistic.ALLOCATION_RATIO,
+                    (double) allocated / offered, anomalies);
+        }
+    }
+
+    // Scores the value against the history first, then folds it into the running summary
+    private void observeValue(Auction auction, Map<String, PriceStatistic> statistics, String dimension, String name,
+                              String metric, double value, List<PriceAnomaly> anomalies) {
+        PriceStatistic statistic = statistics.computeIfAbsent(key(dimension, name, metric),
+                k -> new PriceStatistic(dimension, name, metric));
+
+        if (statistic.getCount() >= minSamples) {
+            double stdDev = Math.sqrt(statistic.getM2() / (statistic.getCount() - 1));
+            if (stdDev > 0) {
+                double zScore = (value - statistic.getMean()) / stdDev;
+                if (Math.abs(zScore) >= zThreshold) {
+                    anomalies.add(new PriceAnomaly(auction, statistic, value, stdDev, zScore));
+                }
+            }
+        }
+
+        long count = statistic.getCount() + 1;
+        double delta = value - statistic.getMean();
+        double mean = statistic.getMean() + delta / count;
+
+        statistic.setCount(count);
+        statistic.setMean(mean);
+        statistic.setM2(statistic.getM2() + delta * (value - mean));
+        statistic.setEwma(count == 1 ? value : ewmaAlpha * value + (1 - ewmaAlpha) * statistic.getEwma());
+        statistic.setMin(count == 1 ? value : Math.min(statistic.getMin(), value));
+        statistic.setMax(count == 1 ? value : Math.max(statistic.getMax(), value));
+        statistic.setUpdatedAt(LocalDateTime.now());
+    }
+
+    // Locks the rows until the ingest transaction ends. A series two ingests create at the same time
+    // still collides on the unique constraint, which rolls one of them back for the journal to retry.
+    private Map<String, PriceStatistic> loadStatistics() {
+        Map<String, PriceStatistic> statistics = new HashMap<>();
+        for (PriceStatistic statistic : priceStatisticRepository.findAllByOrderByIdAsc()) {
+            statistics.put(key(statistic.getDimension(), statistic.getName(), statistic.getMetric()), statistic);
+        }
+        return statistics;
+    }
+
+    private void publishAfterCommit(List<PriceAnomaly> anomalies) {
+        if (anomalies.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(anomalies);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(anomalies);
+            }
+        });
+    }
+
+    private synchronized void replaceAnomalies(List<PriceAnomaly> anomalies) {
+        recentAnomalies = List.of();
+        publish(anomalies);
+    }
+
+    // Read-modify-write of recentAnomalies: ingest and bulk-import rebuilds may publish concurrently
+    private synchronized void publish(List<PriceAnomaly> anomalies) {
+        if (anomalies.isEmpty()) {
+            return;
+        }
+
+        List<PriceAnomaly> updated = new ArrayList<>(anomalies.size() + recentAnomalies.size());
+        for (int i = anomalies.size() - 1; i >= 0; i--) {
+            updated.add(anomalies.get(i));
+        }
+        updated.addAll(recentAnomalies);
+        recentAnomalies = List.copyOf(updated.subList(0, Math.min(retained, updated.size())));
+    }
+
+    private String key(String dimension, String name, String metric) {
+        return dimension + "|" + name + "|" + metric;
+    }
+}
@@ -0,0 +1,406 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk Import Service
+ *
+ * Loads historical auctions (EEX spreadsheets exported to CSV, or NDJSON exports of another
+ * instance) without going through JPA one row at a time.
+ *
+ * Key Functions:
+ * - Streams validated rows through the PostgreSQL COPY protocol into a temporary staging table
+ * - Merges staging into auctions, auction_regions and auction_technologies in one statement
+ * - Skips auctions that already exist for the same auction date and production month (the unique key
+ *   on auctions, so a concurrent scrape cannot slip in a duplicate), and duplicate region/technology rows within the file
+ * - Logs progress and reports rows/second; evicts caches and rebuilds price statistics and the comparison index afterwards
+ *
+ * CSV columns (header required, any order):
+ *   auction_date,production_month,reserve_price,kind,name,volume_offered,volume_allocated,weighted_avg_price
+ * where kind is REGION, TECHNOLOGY or AUCTION (an auction without result rows). weighted_avg_price
+ * may be empty for a row without a published price.
+ *
+ * NDJSON lines use the same shape as GET /api/auctions:
+ *   {"auctionDate":"2025-01-15","productionMonth":"March 2025","reservePrice":0.15,
+ *    "regions":[{"regionName":..,"volumeOffered":..,"volumeAllocated":..,"weightedAvgPrice":..}],
+ *    "technologies":[{"technologyType":..,...}]}
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final int PROGRESS_EVERY_ROWS = 100_000;
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private static final String[] CSV_COLUMNS = {"auction_date", "production_month", "reserve_price", "kind", "name",
+            "volume_offered", "volume_allocated", "weighted_avg_price"};
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMPORARY TABLE auction_import_staging (
+                kind               varchar(16) NOT NULL,
+                auction_date       date        NOT NULL,
+                production_month   varchar(255) NOT NULL,
+                reserve_price      numeric(38, 2),
+                name               varchar(255),
+                volume_offered     integer,
+                volume_allocated   integer,
+                weighted_avg_price numeric(38, 2)
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING = "COPY auction_import_staging (kind, auction_date, production_month, "
+            + "reserve_price, name, volume_offered, volume_allocated, weighted_avg_price) FROM STDIN WITH (FORMAT csv)";
+
+    // ON CONFLICT against the unique (auction_date, production_month) key decides what is new, so an auction
+    // stored concurrently is skipped rather than duplicated; only auctions inserted here get their region
+    // and technology rows, so re-importing a file is a no-op
+    private static final String MERGE = """
+            WITH staged AS (
+                SELECT DISTINCT ON (auction_date, production_month) auction_date, production_month, reserve_price
+                FROM auction_import_staging
+                ORDER BY auction_date, production_month, reserve_price NULLS LAST
+            ), inserted AS (
+                INSERT INTO auctions (auction_date, production_month, reserve_price, created_at)
+                SELECT s.auction_date, s.production_month, s.reserve_price, now()
+                FROM staged s
+                ON CONFLICT (auction_date, production_month) DO NOTHING
+                RETURNING id, auction_date, production_month
+            ), regions AS (
+                INSERT INTO auction_regions (auction_id, region_name, volume_offered, volume_allocated, weighted_avg_price, created_at)
+                SELECT DISTINCT ON (i.id, s.name) i.id, s.name, s.volume_offered, s.volume_allocated, s.weighted_avg_price, now()
+                FROM auction_import_staging s
+                JOIN inserted i ON i.auction_date = s.auction_date AND i.production_month = s.production_month
+                WHERE s.kind = 'REGION'
+                ORDER BY i.id, s.name
+                RETURNING 1
+            ), technologies AS (
+                INSERT INTO auction_technologies (auction_id, technology_type, volume_offered, volume_allocated, weighted_avg_price, created_at)
+                SELECT DISTINCT ON (i.id, s.name) i.id, s.name, s.volume_offered, s.volume_allocated, s.weighted_avg_price, now()
+                FROM auction_import_staging s
+                JOIN inserted i ON i.auction_date = s.auction_date AND i.production_month = s.production_month
+                WHERE s.kind = 'TECHNOLOGY'
+                ORDER BY i.id, s.name
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM inserted), (SELECT count(*) FROM regions), (SELECT count(*) FROM technologies)
+            """;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuctionCacheService auctionCacheService;
+
+    @Autowired
+    private AuctionStatisticsService auctionStatisticsService;
+
+    @Autowired
+    private AuctionIndexService auctionIndexService;
+
+    public record ImportResult(long rowsStaged, long auctionsInserted, long regionsInserted, long technologiesInserted,
+                               long millis, double rowsPerSecond) {}
+
+    // Picks the format from an explicit value or the file name: .csv, .ndjson or .jsonl
+    public static String resolveFormat(String format, String fileName) {
+        String candidate = format != null ? format : fileName;
+        if (candidate != null) {
+            String lower = candidate.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(FORMAT_CSV)) {
+                return FORMAT_CSV;
+            }
+            if (lower.endsWith(FORMAT_NDJSON) || lower.endsWith("jsonl")) {
+                return FORMAT_NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("Unknown import format, use csv or ndjson: " + candidate);
+    }
+
+    public ImportResult importAuctions(InputStream input, String format) throws IOException, SQLException {
+        long started = System.nanoTime();
+        long staged;
+        long[] merged;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING);
+                }
+
+                staged = copy(connection, input, format, started);
+                logger.info("Staged {} rows, merging", staged);
+
+                merged = merge(connection);
+                connection.commit();
+
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        ImportResult result = new ImportResult(staged, merged[0], merged[1], merged[2], millis, rate(staged, millis));
+        logger.info("Import finished: {} rows in {} ms ({} rows/s), {} new auctions, {} regions, {} technologies",
+                staged, millis, Math.round(result.rowsPerSecond()), merged[0], merged[1], merged[2]);
+
+        if (merged[0] > 0) {
+            // Rows were written behind Hibernate's back
+            auctionCacheService.evictAll();
+            auctionStatisticsService.rebuild();
+            auctionIndexService.rebuild();
+        }
+        return result;
+    }
+
+    private long copy(Connection connection, InputStream input, String format, long started) throws IOException, SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+        StringBuilder buffer = new StringBuilder(COPY_BUFFER_BYTES + 1024);
+        long rows = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = FORMAT_CSV.equals(format) ? readHeader(reader) : null;
+            String line;
+            long lineNumber = header == null ? 0 : 1;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+
+                try {
+                    List<String[]> parsed = header != null ? List.<String[]>of(fromCsv(line, header)) : fromNdjson(line);
+                    for (String[] row : parsed) {
+                        appendCsv(buffer, row);
+                        rows++;
+
+                        if (rows % PROGRESS_EVERY_ROWS == 0) {
+                            long millis = (System.nanoTime() - started) / 1_000_000;
+                            logger.info("Import progress: {} rows, {} rows/s", rows, Math.round(rate(rows, millis)));
+                        }
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException | IOException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+
+                if (buffer.length() >= COPY_BUFFER_BYTES) {
+                    flush(copyIn, buffer);
+                }
+            }
+
+            flush(copyIn, buffer);
+            return copyIn.endCopy();
+
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private long[] merge(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(MERGE)) {
+            result.next();
+            return new long[]{result.getLong(1), result.getLong(2), result.getLong(3)};
+        }
+    }
+
+    private Map<String, Integer> readHeader(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+
+        List<String> names = splitCsv(line.replace("\uFEFF", ""));
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!header.containsKey(column) && !column.equals("reserve_price")) {
+                throw new IllegalArgumentException("CSV header is missing column " + column);
+            }
+        }
+        return header;
+    }
+
+    // Returns a row in staging column order, validated so COPY never fails halfway through
+    private String[] fromCsv(String line, Map<String, Integer> header) {
+        List<String> cells = splitCsv(line);
+        String kind = cell(cells, header, "kind").toUpperCase(Locale.ROOT);
+
+        return row(kind,
+                cell(cells, header, "auction_date"),
+                cell(cells, header, "production_month"),
+                cell(cells, header, "reserve_price"),
+                cell(cells, header, "name"),
+                cell(cells, header, "volume_offered"),
+                cell(cells, header, "volume_allocated"),
+                cell(cells, header, "weighted_avg_price"));
+    }
+
+    private List<String[]> fromNdjson(String line) throws IOException {
+        JsonNode auction = objectMapper.readTree(line);
+        String auctionDate = text(auction, "auctionDate");
+        String productionMonth = text(auction, "productionMonth");
+        String reservePrice = text(auction, "reservePrice");
+
+        List<String[]> rows = new ArrayList<>();
+        for (JsonNode region : auction.path("regions")) {
+            rows.add(row("REGION", auctionDate, productionMonth, reservePrice, text(region, "regionName"),
+                    text(region, "volumeOffered"), text(region, "volumeAllocated"),
+                    text(region, "weightedAvgPrice")));
+        }
+        for (JsonNode technology : auction.path("technologies")) {
+            rows.add(row("TECHNOLOGY", auctionDate, productionMonth, reservePrice, text(technology, "technologyType"),
+                    text(technology, "volumeOffered"), text(technology, "volumeAllocated"),
+                    text(technology, "weightedAvgPrice")));
+        }
+        if (rows.isEmpty()) {
+            rows.add(row("AUCTION", auctionDate, productionMonth, reservePrice, "", "", "", ""));
+        }
+        return rows;
+    }
+
+    // Missing fields and JSON nulls both read as blank, so row() rejects them instead of storing "null"
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? "" : value.asText();
+    }
+
+    private String[] row(String kind, String auctionDate, String productionMonth, String reservePrice, String name,
+                         String volumeOffered, String volumeAllocated, String weightedAvgPrice) {
+        if (!kind.equals("REGION") && !kind.equals("TECHNOLOGY") && !kind.equals("AUCTION")) {
+            throw new IllegalArgumentException("kind must be REGION, TECHNOLOGY or AUCTION, was '" + kind + "'");
+        }
+        if (productionMonth.isBlank()) {
+            throw new IllegalArgumentException("production_month is required");
+        }
+
+        String[] row = new String[CSV_COLUMNS.length];
+        row[0] = kind;
+        row[1] = LocalDate.parse(auctionDate.trim()).toString();
+        row[2] = productionMonth.trim();
+        row[3] = reservePrice.isBlank() ? null : new BigDecimal(reservePrice.trim()).toPlainString();
+
+        if (kind.equals("AUCTION")) {
+            return row;
+        }
+
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("name is required for " + kind + " rows");
+        }
+        int offered = Integer.parseInt(volumeOffered.trim());
+        int allocated = Integer.parseInt(volumeAllocated.trim());
+        if (offered < 0 || allocated < 0) {
+            throw new IllegalArgumentException("volumes must not be negative");
+        }
+
+        row[4] = name.trim();
+        row[5] = Integer.toString(offered);
+        row[6] = Integer.toString(allocated);
+        // Blank when EEX published no price for the row, as exported by GET /api/auctions
+        row[7] = weightedAvgPrice.isBlank() ? null : new BigDecimal(weightedAvgPrice.trim()).toPlainString();
+        return row;
+    }
+
+    private String cell(List<String> cells, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        return index == null || index >= cells.size() ? "" : cells.get(index);
+    }
+
+    // Minimal RFC 4180 split: commas inside quotes and doubled quotes are supported, multi-line fields are not
+    private List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    // Text columns are always quoted; unquoted empty fields are NULL to COPY
+    private void appendCsv(StringBuilder buffer, String[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            String value = row[i];
+            if (value == null) {
+                continue;
+            }
+            if (i == 0 || i == 2 || i == 4) {
+                buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                buffer.append(value);
+            }
+        }
+        buffer.append('\n');
+    }
+
+    private void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private double rate(long rows, long millis) {
+        return millis == 0 ? rows : rows * 1000.0 / millis;
+    }
+}
@@ -1,21 +1,28 @@
 package com.energyauctions.french_auction_scraper.service;
 
+import com.energyauctions.french_auction_scraper.journal.AuctionIngestQueue;
 import com.energyauctions.french_auction_scraper.model.Auction;
 import com.energyauctions.french_auction_scraper.model.AuctionRegion;
 import com.energyauctions.french_auction_scraper.model.AuctionTechnology;
 import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import com.energyauctions.french_auction_scraper.scraper.AuctionTableExtractor;
+import com.energyauctions.french_auction_scraper.scraper.ExtractedTable;
+import com.energyauctions.french_auction_scraper.scraper.TableExtractionException;
+import com.energyauctions.french_auction_scraper.scraper.TableQuality;
+import com.energyauctions.french_auction_scraper.scraper.TableRow;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -31,15 +38,19 @@ import java.util.regex.Pattern;
  *
  * Key Functions:
  * - Scheduled scraping daily at 3:00 AM Estonian time
- * - Manual trigger capability for testing
- * - Extracts regional and technology auction data
+ * - Manual trigger capability for testing; it reports failed table validation to the caller
+ * - Extracts regional and technology auction data by header text (see AuctionTableExtractor)
  * - Handles European number formatting and currency parsing
- * - Validates data and prevents duplicate entries
+ * - Validates each table (allocated <= offered, totals) and never saves a partially parsed auction
+ * - Keeps per-table parse quality of the last run for /api/auctions/scrape/quality
+ * - Prevents duplicate entries
+ * - Writes parsed auctions to the local ingest journal before they are stored, so a database outage loses nothing
  * - 5 retry attempts with exponential backoff (30s, 60s, 120s, 240s)
  * - 75-second timeout for better reliability
  * - Graceful failure handling ,continues on next scheduled run
  */
 @Service
+@Lazy(false) // created eagerly even with lazy initialization so the daily schedule is registered
 public class EEXAuctionScraperService {
 
     private static final Logger logger = LoggerFactory.getLogger(EEXAuctionScraperService.class);
@@ -54,6 +65,12 @@ public class EEXAuctionScraperService {
     @Autowired
     private AuctionRepository auctionRepository;
 
+    @Autowired
+    private AuctionIngestQueue auctionIngestQueue;
+
+    private volatile List<TableQuality> lastTableQuality = List.of();
+    private volatile LocalDateTime lastExtractionAt;
+
     // Scheduled , runs daily at 3:00 AM Estonian time
     @Scheduled(cron = "0 0 3 * * ?", zone = "Europe/Tallinn")
     public void scrapeAuctionData() {
@@ -70,9 +87,11 @@ public class EEXAuctionScraperService {
     }
 
     // Manual trigger method for ondemand scraping TESTING ACTUALLY
-    public void scrapeNow() {
+    // Unlike the scheduled run it throws, so /scrape does not report an auction refused by validation as a success
+    public void scrapeNow() throws Exception {
         logger.info("Manual scraping triggered");
-        scrapeAuctionData();
+        scrapeLatestAuctionResults();
+        logger.info("EEX auction data scraping completed successfully");
     }
 
     private void scrapeLatestAuctionResults() throws Exception {
@@ -132,35 +151,30 @@ public class EEXAuctionScraperService {
             return;
         }
 
-        // Check if we already have this auction
-        Optional<Auction> existingAuction = auctionRepository.findByAuctionDateAndProductionMonth(
-                metadata.auctionDate, metadata.productionMonth);
-
-        if (existingAuction.isPresent()) {
-            logger.info("Auction for {} (production: {}) already exists, skipping",
-                    metadata.auctionDate, metadata.productionMonth);
-            return;
-        }
-
         // Create new auction record
         Auction auction = new Auction(metadata.auctionDate, metadata.productionMonth, metadata.reservePrice);
 
-        // Extract regional data from the first table
-        List<AuctionRegion> regions = extractRegionalData(resultsSection, auction);
-        auction.setRegions(regions);
+        // Extract both results tables - throws before anything is journaled if either is incomplete
+        extractTables(resultsSection, auction);
 
-        // Extract technology data from the second table
-        List<AuctionTechnology> technologies = extractTechnologyData(resultsSection, auction);
-        auction.setTechnologies(technologies);
+        // Check if we already have this auction - if the database is down, the ingest journal deduplicates later
+        try {
+            Optional<Auction> existingAuction = auctionRepository.findByAuctionDateAndProductionMonth(
+                    metadata.auctionDate, metadata.productionMonth);
 
-        // Save to database if we have data
-        if (!regions.isEmpty() || !technologies.isEmpty()) {
-            auctionRepository.save(auction);
-            logger.info("Saved new auction: {} regions, {} technologies",
-                    regions.size(), technologies.size());
-        } else {
-            logger.warn("No auction data found to save");
+            if (existingAuction.isPresent()) {
+                logger.info("Auction for {} (production: {}) already exists, skipping",
+                        metadata.auctionDate, metadata.productionMonth);
+                return;
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check for an existing auction, journaling it anyway: {}", e.getMessage());
         }
+
+        // Journal first, then store - the queue retries in the background while the database is unreachable
+        auctionIngestQueue.submit(auction);
+        logger.info("Submitted new auction: {} regions, {} technologies ({} journaled records pending)",
+                auction.getRegions().size(), auction.getTechnologies().size(), auctionIngestQueue.pending());
     }
 
     private AuctionMetadata extractAuctionMetadata(Element resultsSection) {
@@ -199,151 +213,47 @@ public class EEXAuctionScraperService {
         return metadata;
     }
 
-    private List<AuctionRegion> extractRegionalData(Element resultsSection, Auction auction) {
-        List<AuctionRegion> regions = new ArrayList<>();
+    // Maps the extracted rows onto entities and records the parse quality; refuses incomplete tables
+    private void extractTables(Element resultsSection, Auction auction) {
+        ExtractedTable regionTable = AuctionTableExtractor.REGIONS.extract(resultsSection);
+        ExtractedTable technologyTable = AuctionTableExtractor.TECHNOLOGIES.extract(resultsSection);
 
-        // Find the first table (regional data) - it has headers with <p> tags
-        Elements tables = resultsSection.select("table");
-        Element regionalTable = null;
+        List<TableQuality> quality = List.of(regionTable.quality(), technologyTable.quality());
+        lastTableQuality = quality;
+        lastExtractionAt = LocalDateTime.now();
 
-        for (Element table : tables) {
-            // Check if this table has Region header with <p> tag
-            if (table.select("p:contains(Region)").size() > 0) {
-                regionalTable = table;
-                break;
-            }
+        for (TableQuality table : quality) {
+            logger.info("Parsed {} table: columns {}, {} rows seen, {} parsed, {} rejected, totals checked: {} ({} ms)",
+                    table.table(), table.columns(), table.rowsSeen(), table.rowsParsed(), table.rowsRejected(),
+                    table.totalsChecked(), String.format("%.2f", table.millis()));
+            table.issues().forEach(issue -> logger.warn("{} table: {}", table.table(), issue));
         }
 
-        if (regionalTable == null) {
-            logger.warn("Could not find regional data table");
-            return regions;
+        // A partial auction would be stored as if complete and never re-scraped, so nothing is journaled
+        if (!regionTable.quality().isComplete() || !technologyTable.quality().isComplete()) {
+            throw new TableExtractionException("Results tables failed validation, auction not saved", quality);
         }
 
-        logger.info("Found regional data table");
-
-        // Get all data rows (skip header rows)
-        Elements dataRows = regionalTable.select("tr:has(td)");
-        // Filter out header rows by checking if first cell contains "Region"
-        dataRows = dataRows.select("tr:not(:has(p:contains(Region))):not(:has(td:contains(Volume Offered)))");
-
-        logger.info("Found {} regional data rows", dataRows.size());
-
-        for (Element row : dataRows) {
-            Elements cells = row.select("td");
-            if (cells.size() < 4) continue;
-
-            try {
-                String regionName = extractCellText(cells.get(0));
-                Integer volumeOffered = parseVolume(extractCellText(cells.get(1)));
-                Integer volumeAllocated = parseVolume(extractCellText(cells.get(2)));
-                BigDecimal avgPrice = parsePrice(extractCellText(cells.get(3)));
-
-                if (volumeOffered != null && volumeAllocated != null && avgPrice != null && !regionName.isEmpty()) {
-                    AuctionRegion region = new AuctionRegion(auction, regionName, volumeOffered, volumeAllocated, avgPrice);
-                    regions.add(region);
-                    logger.debug("Parsed region: {} - {} MWh at €{}/MWh", regionName, volumeAllocated, avgPrice);
-                }
-
-            } catch (Exception e) {
-                logger.warn("Failed to parse regional row: {} - {}", row.text(), e.getMessage());
-            }
+        List<AuctionRegion> regions = new ArrayList<>();
+        for (TableRow row : regionTable.rows()) {
+            regions.add(new AuctionRegion(auction, row.name(), row.volumeOffered(), row.volumeAllocated(), row.weightedAvgPrice()));
         }
+        auction.setRegions(regions);
 
-        return regions;
-    }
-
-    private List<AuctionTechnology> extractTechnologyData(Element resultsSection, Auction auction) {
         List<AuctionTechnology> technologies = new ArrayList<>();
-
-        // Find the second table (technology data) - it has "Technology" header without <p> tags
-        Elements tables = resultsSection.select("table");
-        Element technologyTable = null;
-
-        for (Element table : tables) {
-            // Check if this table has Technology header directly in td (not in <p>)
-            if (table.select("td:contains(Technology)").size() > 0 &&
-                    table.select("p:contains(Technology)").size() == 0) {
-                technologyTable = table;
-                break;
-            }
-        }
-
-        if (technologyTable == null) {
-            logger.warn("Could not find technology data table");
-            return technologies;
+        for (TableRow row : technologyTable.rows()) {
+            technologies.add(new AuctionTechnology(auction, row.name(), row.volumeOffered(), row.volumeAllocated(), row.weightedAvgPrice()));
         }
-
-        logger.info("Found technology data table");
-
-        // Get all data rows (skip header rows)
-        Elements dataRows = technologyTable.select("tr:has(td)");
-        // Filter out header rows
-        dataRows = dataRows.select("tr:not(:has(td:contains(Technology))):not(:has(td:contains(Volume Offered)))");
-
-        logger.info("Found {} technology data rows", dataRows.size());
-
-        for (Element row : dataRows) {
-            Elements cells = row.select("td");
-            if (cells.size() < 4) continue;
-
-            try {
-                String technologyType = extractCellText(cells.get(0));
-                Integer volumeOffered = parseVolume(extractCellText(cells.get(1)));
-                Integer volumeAllocated = parseVolume(extractCellText(cells.get(2)));
-                BigDecimal avgPrice = parsePrice(extractCellText(cells.get(3)));
-
-                if (volumeOffered != null && volumeAllocated != null && avgPrice != null && !technologyType.isEmpty()) {
-                    AuctionTechnology technology = new AuctionTechnology(auction, technologyType, volumeOffered, volumeAllocated, avgPrice);
-                    technologies.add(technology);
-                    logger.debug("Parsed technology: {} - {} MWh at €{}/MWh", technologyType, volumeAllocated, avgPrice);
-                }
-
-            } catch (Exception e) {
-                logger.warn("Failed to parse technology row: {} - {}", row.text(), e.getMessage());
-            }
-        }
-
-        return technologies;
+        auction.setTechnologies(technologies);
     }
 
-    private String extractCellText(Element cell) {
-        // Try to get text from <p> tag first, fallback to direct text
-        Element pTag = cell.selectFirst("p");
-        String text = pTag != null ? pTag.text() : cell.text();
-        return text.trim().replaceAll("\\s+", " ");
+    // Parse quality of the most recent scrape, one entry per results table
+    public List<TableQuality> getLastTableQuality() {
+        return lastTableQuality;
     }
 
-    // Parse volume numbers like "236.995" or "1.943.184"
-    private Integer parseVolume(String volumeText) {
-        try {
-            // Remove all non-digits except dots
-            String cleaned = volumeText.replaceAll("[^0-9.]", "");
-            // Remove dots (thousand separators) and convert to integer
-            cleaned = cleaned.replace(".", "");
-            return cleaned.isEmpty() ? null : Integer.parseInt(cleaned);
-        } catch (Exception e) {
-            logger.debug("Could not parse volume: {}", volumeText);
-            return null;
-        }
-    }
-
-    // Parse price values like "€ 0.50" or "€ 0.49"
-    private BigDecimal parsePrice(String priceText) {
-        try {
-            // Extract number after € symbol
-            Pattern pattern = Pattern.compile("€.*?(\\d+[.,]\\d+)");
-            Matcher matcher = pattern.matcher(priceText);
-
-            if (matcher.find()) {
-                String priceStr = matcher.group(1).replace(",", ".");
-                return new BigDecimal(priceStr);
-            }
-
-            return null;
-        } catch (Exception e) {
-            logger.debug("Could not parse price: {}", priceText);
-            return null;
-        }
+    public LocalDateTime getLastExtractionAt() {
+        return lastExtractionAt;
     }
 
     // Helper class to hold auction metadata
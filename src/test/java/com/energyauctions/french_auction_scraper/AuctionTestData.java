@@ -0,0 +1,47 @@
+package com.energyauctions.french_auction_scraper;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.model.AuctionRegion;
+import com.energyauctions.french_auction_scraper.model.AuctionTechnology;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Shared fixture for benchmarks: monthly auctions from January 2015 with fixed regions and technologies
+public final class AuctionTestData {
+
+    public static final String[] TECHNOLOGIES = {"Wind", "Solar", "Hydro", "Thermal"};
+
+    private AuctionTestData() {}
+
+    public static List<Auction> monthlyAuctions(int count, int regionCount) {
+        List<Auction> auctions = new ArrayList<>();
+        LocalDate start = LocalDate.of(2015, 1, 15);
+
+        for (int i = 0; i < count; i++) {
+            LocalDate auctionDate = start.plusMonths(i);
+            Auction auction = new Auction(auctionDate, auctionDate.plusMonths(2).getMonth() + " " + auctionDate.getYear(),
+                    BigDecimal.valueOf(0.15));
+
+            List<AuctionRegion> regions = new ArrayList<>();
+            for (int r = 0; r < regionCount; r++) {
+                regions.add(new AuctionRegion(auction, "Region " + r, 100000 + r * 1000, 90000 + r * 900,
+                        BigDecimal.valueOf(50 + r, 2)));
+            }
+            auction.setRegions(regions);
+
+            List<AuctionTechnology> technologies = new ArrayList<>();
+            for (int t = 0; t < TECHNOLOGIES.length; t++) {
+                technologies.add(new AuctionTechnology(auction, TECHNOLOGIES[t], 200000 + t * 5000, 180000 + t * 4000,
+                        BigDecimal.valueOf(45 + t, 2)));
+            }
+            auction.setTechnologies(technologies);
+
+            auctions.add(auction);
+        }
+
+        return auctions;
+    }
+}
@@ -0,0 +1,82 @@
+package com.energyauctions.french_auction_scraper.controller;
+
+import com.energyauctions.french_auction_scraper.AuctionTestData;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Response shape of ?fields= projections and the 400 for names outside the whitelist
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuctionControllerFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @BeforeEach
+    void seed() {
+        auctionRepository.deleteAll();
+        auctionRepository.saveAll(AuctionTestData.monthlyAuctions(2, 2));
+    }
+
+    @Test
+    void returnsOnlyTheRequestedColumns() throws Exception {
+        mockMvc.perform(get("/api/auctions").param("fields", "auctionDate,regions.regionName,regions.weightedAvgPrice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                // Newest first, as without ?fields=
+                .andExpect(jsonPath("$[0].auctionDate").value("2015-02-15"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].technologies").doesNotExist())
+                .andExpect(jsonPath("$[0].regions", hasSize(2)))
+                .andExpect(jsonPath("$[0].regions[*].regionName", containsInAnyOrder("Region 0", "Region 1")))
+                .andExpect(jsonPath("$[0].regions[0].weightedAvgPrice").exists())
+                .andExpect(jsonPath("$[0].regions[0].volumeOffered").doesNotExist());
+    }
+
+    @Test
+    void childRowsFollowTheParentFilter() throws Exception {
+        mockMvc.perform(get("/api/auctions/range")
+                        .param("startDate", "2015-01-01")
+                        .param("endDate", "2015-01-31")
+                        .param("fields", "auctionDate,technologies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].auctionDate").value("2015-01-15"))
+                .andExpect(jsonPath("$[0].technologies", hasSize(AuctionTestData.TECHNOLOGIES.length)))
+                .andExpect(jsonPath("$[0].technologies[0].technologyType").value("Wind"))
+                .andExpect(jsonPath("$[0].technologies[0].createdAt").doesNotExist());
+
+        mockMvc.perform(get("/api/auctions/latest").param("fields", "auctionDate,regions.regionName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.auctionDate").value("2015-02-15"))
+                .andExpect(jsonPath("$.regions", hasSize(2)));
+    }
+
+    @Test
+    void unknownFieldIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/auctions").param("fields", "auctionDate,regions.price"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.message").value("Unknown field: regions.price"));
+
+        mockMvc.perform(get("/api/auctions/latest").param("fields", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("fields must not be empty"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.energyauctions.french_auction_scraper.controller;
+
+import com.energyauctions.french_auction_scraper.AuctionTestData;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Payload size and render time of the dashboard's typical requests: full entity JSON vs ?fields= projections, JSON vs CBOR
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("bench")
+@Tag("benchmark")
+class AuctionPayloadBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionPayloadBenchmarkTest.class);
+
+    private static final int AUCTIONS = 120;
+    private static final int REGIONS = 13;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 100;
+
+    private static final String PRICE_CHART_FIELDS = "auctionDate,regions.regionName,regions.weightedAvgPrice";
+    private static final String TECHNOLOGY_CHART_FIELDS = "auctionDate,technologies";
+
+    private static final List<String> REQUESTS = List.of(
+            "/api/auctions",
+            "/api/auctions?fields=" + PRICE_CHART_FIELDS,
+            "/api/auctions/technologies",
+            "/api/auctions/technologies?fields=" + TECHNOLOGY_CHART_FIELDS,
+            "/api/auctions/latest",
+            "/api/auctions/latest?fields=" + PRICE_CHART_FIELDS,
+            "/api/auctions/range?startDate=2020-01-01&endDate=2021-12-31",
+            "/api/auctions/range?startDate=2020-01-01&endDate=2021-12-31&fields=" + PRICE_CHART_FIELDS);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @BeforeEach
+    void seed() {
+        auctionRepository.deleteAll();
+        auctionRepository.saveAll(AuctionTestData.monthlyAuctions(AUCTIONS, REGIONS));
+    }
+
+    @Test
+    void projectedAndBinaryPayloadsAreSmaller() throws Exception {
+        logger.info(String.format("%-95s %-18s %10s %10s", "request", "format", "bytes", "ms/req"));
+
+        for (String request : REQUESTS) {
+            Measurement json = measure(request, MediaType.APPLICATION_JSON);
+            Measurement cbor = measure(request, MediaType.APPLICATION_CBOR);
+
+            print(request, json);
+            print(request, cbor);
+
+            assertThat(cbor.bytes()).isLessThan(json.bytes());
+        }
+
+        Measurement full = measure("/api/auctions", MediaType.APPLICATION_JSON);
+        Measurement projected = measure("/api/auctions?fields=" + PRICE_CHART_FIELDS, MediaType.APPLICATION_JSON);
+        assertThat(projected.bytes()).isLessThan(full.bytes());
+    }
+
+    private Measurement measure(String request, MediaType format) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            perform(request, format);
+        }
+
+        long elapsed = 0;
+        int bytes = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long started = System.nanoTime();
+            MvcResult result = perform(request, format);
+            elapsed += System.nanoTime() - started;
+            bytes = result.getResponse().getContentAsByteArray().length;
+        }
+
+        return new Measurement(format, bytes, elapsed / 1_000_000.0 / MEASURED_ROUNDS);
+    }
+
+    private MvcResult perform(String request, MediaType format) throws Exception {
+        return mockMvc.perform(get(request).accept(format))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private void print(String request, Measurement measurement) {
+        logger.info(String.format("%-95s %-18s %10d %10.3f", request, measurement.format(), measurement.bytes(), measurement.msPerRequest()));
+    }
+
+    private record Measurement(MediaType format, int bytes, double msPerRequest) {}
+}
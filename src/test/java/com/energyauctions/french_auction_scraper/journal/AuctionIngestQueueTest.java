@@ -0,0 +1,203 @@
+package com.energyauctions.french_auction_scraper.journal;
+
+import com.energyauctions.french_auction_scraper.AuctionTestData;
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuctionIngestQueueTest {
+
+    private static final int AUCTIONS = 50;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void noAuctionIsLostWhenTheDatabaseDiesMidIngest() throws Exception {
+        FakeDatabase database = new FakeDatabase();
+        database.killAfter(20);
+
+        // First process: the database goes away after 20 auctions. submit() drains after every append,
+        // so from then on each auction stays in the journal
+        IngestJournal journal = open();
+        AuctionIngestQueue queue = new AuctionIngestQueue(journal, database, objectMapper, 8, MAX_ATTEMPTS);
+        for (Auction auction : AuctionTestData.monthlyAuctions(AUCTIONS, 3)) {
+            queue.submit(auction);
+        }
+
+        assertThat(database.size()).isBetween(1, AUCTIONS - 1);
+        assertThat(queue.pending()).isPositive();
+
+        // The process dies without any shutdown work: the journal is never closed, only abandoned.
+        // submit() already synced every record
+
+        // Second process: the database is back, the drainer replays the journal
+        database.revive();
+        IngestJournal reopened = open();
+        AuctionIngestQueue restarted = new AuctionIngestQueue(reopened, database, objectMapper, 8, MAX_ATTEMPTS);
+        restarted.drain();
+
+        assertThat(restarted.pending()).isZero();
+        assertThat(database.size()).isEqualTo(AUCTIONS);
+        assertThat(database.writes).isEqualTo(AUCTIONS);
+        assertThat(database.rows.values()).allSatisfy(auction -> {
+            assertThat(auction.getRegions()).hasSize(3).allSatisfy(region -> assertThat(region.getAuction()).isSameAs(auction));
+            assertThat(auction.getTechnologies()).hasSize(AuctionTestData.TECHNOLOGIES.length);
+        });
+        reopened.close();
+    }
+
+    @Test
+    void batchStoredButNotCommittedIsReplayedWithoutDuplicates() throws Exception {
+        FakeDatabase database = new FakeDatabase();
+        database.loseAcknowledgementAfter(10);
+
+        IngestJournal journal = open();
+        AuctionIngestQueue queue = new AuctionIngestQueue(journal, database, objectMapper, 10, MAX_ATTEMPTS);
+        for (Auction auction : AuctionTestData.monthlyAuctions(AUCTIONS, 3)) {
+            journal.append(objectMapper.writeValueAsBytes(auction));
+        }
+        queue.drain();
+        journal.close();
+
+        // The first batch was stored but the journal never heard back, so it is replayed
+        IngestJournal reopened = open();
+        assertThat(reopened.pending()).isEqualTo(AUCTIONS);
+        new AuctionIngestQueue(reopened, database, objectMapper, 10, MAX_ATTEMPTS).drain();
+
+        assertThat(reopened.pending()).isZero();
+        assertThat(database.size()).isEqualTo(AUCTIONS);
+        reopened.close();
+    }
+
+    @Test
+    void rejectedRecordIsQuarantinedAndDoesNotBlockTheJournal() throws Exception {
+        List<Auction> auctions = AuctionTestData.monthlyAuctions(10, 3);
+        FakeDatabase database = new FakeDatabase();
+        database.reject(auctions.get(3));
+
+        IngestJournal journal = open();
+        AuctionIngestQueue queue = new AuctionIngestQueue(journal, database, objectMapper, 4, MAX_ATTEMPTS);
+        for (Auction auction : auctions) {
+            journal.append(objectMapper.writeValueAsBytes(auction));
+        }
+
+        // Records before the rejected one are stored; it is retried on the following drains
+        queue.drain();
+        assertThat(database.size()).isEqualTo(3);
+        assertThat(queue.pending()).isEqualTo(7);
+
+        for (int attempt = 2; attempt <= MAX_ATTEMPTS; attempt++) {
+            queue.drain();
+        }
+
+        assertThat(queue.quarantined()).isEqualTo(1);
+        assertThat(queue.pending()).isZero();
+        assertThat(database.size()).isEqualTo(9);
+        journal.close();
+    }
+
+    @Test
+    void unreachableDatabaseIsNotMistakenForARejectedRecord() throws Exception {
+        FakeDatabase database = new FakeDatabase();
+        database.killAfter(0);
+
+        IngestJournal journal = open();
+        AuctionIngestQueue queue = new AuctionIngestQueue(journal, database, objectMapper, 4, MAX_ATTEMPTS);
+        for (Auction auction : AuctionTestData.monthlyAuctions(10, 3)) {
+            journal.append(objectMapper.writeValueAsBytes(auction));
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS * 2; attempt++) {
+            queue.drain();
+        }
+
+        assertThat(queue.quarantined()).isZero();
+        assertThat(queue.pending()).isEqualTo(10);
+        journal.close();
+    }
+
+    private IngestJournal open() throws Exception {
+        return new IngestJournal(directory, 64 * 1024, 4, 1000, 1000);
+    }
+
+    // Database stand-in: batches are all-or-nothing, keyed on auction date and production month like the real sink
+    private static class FakeDatabase implements AuctionSink {
+        private final Map<String, Auction> rows = new LinkedHashMap<>();
+        private int writes;
+        private int killAfter = Integer.MAX_VALUE;
+        private int loseAcknowledgementAfter = Integer.MAX_VALUE;
+        private final Set<String> rejected = new HashSet<>();
+
+        void reject(Auction auction) {
+            rejected.add(key(auction));
+        }
+
+        void killAfter(int stored) {
+            this.killAfter = stored;
+        }
+
+        void loseAcknowledgementAfter(int stored) {
+            this.loseAcknowledgementAfter = stored;
+        }
+
+        void revive() {
+            this.killAfter = Integer.MAX_VALUE;
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        @Override
+        public void persist(List<Auction> auctions) {
+            Map<String, Auction> transaction = new HashMap<>();
+            for (Auction auction : auctions) {
+                if (rows.size() + transaction.size() >= killAfter) {
+                    throw new DataAccessResourceFailureException("Connection refused");
+                }
+                String key = key(auction);
+                if (rejected.contains(key)) {
+                    throw new DataIntegrityViolationException("Constraint violated by " + key);
+                }
+                if (!rows.containsKey(key)) {
+                    transaction.put(key, auction);
+                }
+            }
+
+            rows.putAll(transaction);
+            writes += transaction.size();
+
+            if (rows.size() >= loseAcknowledgementAfter) {
+                loseAcknowledgementAfter = Integer.MAX_VALUE;
+                throw new RecoverableDataAccessException("Connection reset after commit");
+            }
+        }
+
+        private static String key(Auction auction) {
+            return auction.getAuctionDate() + "|" + auction.getProductionMonth();
+        }
+    }
+}
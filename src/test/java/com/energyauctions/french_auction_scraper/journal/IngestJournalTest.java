@@ -0,0 +1,137 @@
+package com.energyauctions.french_auction_scraper.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestJournalTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void uncommittedRecordsSurviveReopen() throws IOException {
+        try (IngestJournal journal = open(1000)) {
+            for (int i = 1; i <= 100; i++) {
+                assertThat(journal.append(payload(i))).isEqualTo(i);
+            }
+            journal.commit(40);
+        }
+
+        try (IngestJournal journal = open(1000)) {
+            List<JournalEntry> entries = journal.readUncommitted(1000);
+
+            assertThat(entries).hasSize(60);
+            assertThat(entries.get(0).sequence()).isEqualTo(41);
+            assertThat(text(entries.get(59))).isEqualTo("auction-100");
+            assertThat(journal.append(payload(101))).isEqualTo(101);
+        }
+    }
+
+    @Test
+    void tornTailIsCutAtLastValidRecord() throws IOException {
+        try (IngestJournal journal = open(1000)) {
+            for (int i = 1; i <= 10; i++) {
+                journal.append(payload(i));
+            }
+        }
+
+        // Flip a payload byte of the last record, as a crash in the middle of a write would leave it
+        Path segment = segments().get(0);
+        int lastRecord = 9 * (IngestJournal.HEADER_BYTES + payload(1).length);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), lastRecord + IngestJournal.HEADER_BYTES + 2);
+        }
+
+        try (IngestJournal journal = open(1000)) {
+            List<JournalEntry> entries = journal.readUncommitted(1000);
+
+            assertThat(entries).hasSize(9);
+            assertThat(journal.append(payload(10))).isEqualTo(10);
+            assertThat(text(journal.readUncommitted(1000).get(9))).isEqualTo("auction-10");
+        }
+    }
+
+    @Test
+    void emptySegmentFromACrashedRollIsReplaced() throws IOException {
+        try (IngestJournal journal = open(1000)) {
+            for (int i = 1; i <= 10; i++) {
+                journal.append(payload(i));
+            }
+        }
+
+        // A crash right after roll() created the next segment file, before anything was written to it
+        Files.createFile(directory.resolve(String.format("segment-%020d.log", 11)));
+
+        try (IngestJournal journal = open(1000)) {
+            assertThat(journal.readUncommitted(1000)).hasSize(10);
+            assertThat(journal.append(payload(11))).isEqualTo(11);
+            assertThat(text(journal.readUncommitted(1000).get(10))).isEqualTo("auction-11");
+        }
+        try (IngestJournal journal = open(1000)) {
+            assertThat(journal.readUncommitted(1000)).hasSize(11);
+        }
+    }
+
+    @Test
+    void committedSegmentsAreCompacted() throws IOException {
+        try (IngestJournal journal = open(10_000)) {
+            for (int i = 1; i <= 1000; i++) {
+                journal.append(payload(i));
+            }
+            assertThat(journal.segmentCount()).isGreaterThan(5);
+
+            journal.commit(1000);
+
+            assertThat(journal.segmentCount()).isEqualTo(1);
+            assertThat(segments()).hasSize(1);
+            assertThat(journal.readUncommitted(10)).isEmpty();
+        }
+    }
+
+    @Test
+    void appendBlocksThenFailsWhenTooManyRecordsArePending() throws IOException {
+        try (IngestJournal journal = new IngestJournal(directory, SEGMENT_BYTES, 1, 5, 50)) {
+            for (int i = 1; i <= 5; i++) {
+                journal.append(payload(i));
+            }
+
+            assertThatThrownBy(() -> journal.append(payload(6))).isInstanceOf(JournalFullException.class);
+
+            journal.commit(3);
+            assertThat(journal.append(payload(6))).isEqualTo(6);
+        }
+    }
+
+    private IngestJournal open(int maxPending) throws IOException {
+        return new IngestJournal(directory, SEGMENT_BYTES, 8, maxPending, 1000);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private byte[] payload(int i) {
+        return String.format("auction-%d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String text(JournalEntry entry) {
+        return new String(entry.payload(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,281 @@
+package com.energyauctions.french_auction_scraper.loadtest;
+
+import com.energyauctions.french_auction_scraper.service.AuctionCacheService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for AuctionController on the in-memory database.
+ *
+ * Seeds a synthetic multi-year dataset (see SyntheticAuctionDataGenerator), then runs a fixed
+ * request mix against each endpoint and reports throughput, p50/p99 latency and SQL statements
+ * per request. Every run is written to target/loadtest/ as JSON and compared with the checked-in
+ * src/test/resources/loadtest/baseline.json, or with -Dloadtest.baseline=<previous result file>.
+ *
+ * Run with: ./mvnw test -Pbenchmark -Dtest=AuctionApiLoadTest [-Dloadtest.years=10 -Dloadtest.threads=8 ...]
+ *
+ * To refresh the baseline after an intended change, run with the default settings and copy the
+ * new target/loadtest/loadtest-*.json over baseline.json. Latencies depend on the machine;
+ * statements per request do not.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("bench")
+@Tag("benchmark")
+class AuctionApiLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionApiLoadTest.class);
+
+    private static final String DEFAULT_BASELINE = "src/test/resources/loadtest/baseline.json";
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 4);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 400);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("loadtest.warmup", 50);
+    private static final double REGRESSION_TOLERANCE = 0.20;
+
+    private static final String PRICE_CHART_FIELDS = "auctionDate,regions.regionName,regions.weightedAvgPrice";
+
+    // Each scenario cycles through its paths in order, so every run issues exactly the same requests
+    private static final Map<String, List<String>> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("all", List.of("/api/auctions"));
+        SCENARIOS.put("all-projected", List.of("/api/auctions?fields=" + PRICE_CHART_FIELDS));
+        SCENARIOS.put("latest", List.of("/api/auctions/latest"));
+        SCENARIOS.put("range", List.of(
+                "/api/auctions/range?startDate=2016-01-01&endDate=2016-12-31",
+                "/api/auctions/range?startDate=2019-01-01&endDate=2021-12-31",
+                "/api/auctions/range?startDate=2023-06-01&endDate=2024-05-31"));
+        SCENARIOS.put("regions", List.of("/api/auctions/regions"));
+        SCENARIOS.put("technologies", List.of("/api/auctions/technologies"));
+        SCENARIOS.put("stats", List.of("/api/auctions/stats"));
+        SCENARIOS.put("dashboard-mix", List.of(
+                "/api/auctions/stats",
+                "/api/auctions/latest",
+                "/api/auctions/regions",
+                "/api/auctions/technologies",
+                "/api/auctions/latest",
+                "/api/auctions/range?startDate=2023-01-01&endDate=2024-12-31"));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuctionCacheService auctionCacheService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private SyntheticAuctionDataGenerator.Settings settings;
+    private SyntheticAuctionDataGenerator.Summary dataset;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM auction_regions");
+        jdbcTemplate.update("DELETE FROM auction_technologies");
+        jdbcTemplate.update("DELETE FROM auctions");
+
+        settings = SyntheticAuctionDataGenerator.Settings.fromSystemProperties();
+        dataset = new SyntheticAuctionDataGenerator(jdbcTemplate, settings).generate();
+        auctionCacheService.evictAll();
+    }
+
+    @Test
+    void runRequestMixes() throws Exception {
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Map.Entry<String, List<String>> scenario : SCENARIOS.entrySet()) {
+            results.add(run(scenario.getKey(), scenario.getValue()));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("settings", settings);
+        report.put("dataset", dataset);
+        report.put("threads", THREADS);
+        report.put("requestsPerScenario", REQUESTS);
+        report.put("scenarios", results);
+
+        Path output = write(report);
+        print(results, output);
+        compareWithBaseline(report, results);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private ScenarioResult run(String name, List<String> paths) throws Exception {
+        execute(paths, WARMUP_REQUESTS);
+
+        long statementsBefore = preparedStatements();
+        long started = System.nanoTime();
+        Execution execution = execute(paths, REQUESTS);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        long statements = preparedStatements() - statementsBefore;
+
+        long[] latencies = execution.latencies();
+        Arrays.sort(latencies);
+
+        return new ScenarioResult(name, REQUESTS, execution.errors(),
+                REQUESTS / seconds,
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1_000_000.0,
+                (double) statements / REQUESTS);
+    }
+
+    private Execution execute(List<String> paths, int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + paths.get(i % paths.size()))).GET().build();
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - started;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        return new Execution(latencies, errors.get());
+    }
+
+    private double percentile(long[] sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private long preparedStatements() {
+        return (Long) auctionCacheService.getStatistics().get("preparedStatements");
+    }
+
+    private Path write(Map<String, Object> report) throws Exception {
+        Path directory = Path.of("target", "loadtest");
+        Files.createDirectories(directory);
+
+        String stamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(Instant.now());
+        Path output = directory.resolve("loadtest-" + stamp + ".json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        return output;
+    }
+
+    private void print(List<ScenarioResult> results, Path output) {
+        logger.info("Dataset: {} auctions, {} region rows, {} technology rows; {} threads, {} requests per scenario",
+                dataset.auctions(), dataset.regionRows(), dataset.technologyRows(), THREADS, REQUESTS);
+        logger.info(String.format("%-16s %10s %10s %10s %10s %12s %7s", "scenario", "req/s", "p50 ms", "p99 ms", "max ms", "stmts/req", "errors"));
+        for (ScenarioResult result : results) {
+            logger.info(String.format("%-16s %10.1f %10.2f %10.2f %10.2f %12.2f %7d", result.scenario(), result.throughput(),
+                    result.p50Ms(), result.p99Ms(), result.maxMs(), result.statementsPerRequest(), result.errors()));
+        }
+        logger.info("Results written to {}", output);
+    }
+
+    // Logs the relative change per scenario and marks p99 or query count regressions beyond the tolerance
+    private void compareWithBaseline(Map<String, Object> report, List<ScenarioResult> results) throws Exception {
+        Path baseline = Path.of(System.getProperty("loadtest.baseline", DEFAULT_BASELINE));
+        if (!Files.exists(baseline)) {
+            logger.warn("No baseline at {}, skipping the comparison", baseline);
+            return;
+        }
+
+        JsonNode recorded = objectMapper.readTree(baseline.toFile());
+        JsonNode current = objectMapper.readTree(objectMapper.writeValueAsString(report));
+        for (String field : List.of("settings", "threads", "requestsPerScenario")) {
+            if (!recorded.path(field).equals(current.path(field))) {
+                logger.warn("Baseline {} was recorded with a different {} ({} vs {}); changes are not comparable",
+                        baseline, field, recorded.path(field), current.path(field));
+            }
+        }
+
+        Map<String, JsonNode> previous = new LinkedHashMap<>();
+        for (JsonNode scenario : recorded.path("scenarios")) {
+            previous.put(scenario.path("scenario").asText(), scenario);
+        }
+
+        logger.info("Compared with {} ({}):", baseline, recorded.path("timestamp").asText());
+        logger.info(String.format("%-16s %10s %10s %10s %12s", "scenario", "req/s", "p50", "p99", "stmts/req"));
+        for (ScenarioResult result : results) {
+            JsonNode before = previous.get(result.scenario());
+            if (before == null) {
+                logger.info(String.format("%-16s %s", result.scenario(), "(new scenario)"));
+                continue;
+            }
+
+            double p99Change = change(before.path("p99Ms").asDouble(), result.p99Ms());
+            double statementChange = change(before.path("statementsPerRequest").asDouble(), result.statementsPerRequest());
+            boolean regression = p99Change > REGRESSION_TOLERANCE || statementChange > REGRESSION_TOLERANCE;
+
+            logger.info(String.format("%-16s %+9.1f%% %+9.1f%% %+9.1f%% %+11.1f%%%s", result.scenario(),
+                    change(before.path("throughput").asDouble(), result.throughput()) * 100,
+                    change(before.path("p50Ms").asDouble(), result.p50Ms()) * 100,
+                    p99Change * 100,
+                    statementChange * 100,
+                    regression ? "  REGRESSION" : ""));
+        }
+    }
+
+    private double change(double before, double after) {
+        return before == 0 ? (after == 0 ? 0 : 1) : (after - before) / before;
+    }
+
+    private record Execution(long[] latencies, int errors) {}
+
+    record ScenarioResult(String scenario, int requests, int errors, double throughput,
+                          double p50Ms, double p99Ms, double maxMs, double statementsPerRequest) {}
+}
@@ -0,0 +1,186 @@
+package com.energyauctions.french_auction_scraper.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic Auction Data Generator
+ *
+ * Fills the auctions, auction_regions and auction_technologies tables with monthly auctions
+ * that look like EEX French auction results: each region and technology follows its own
+ * seasonal, mean-reverting price walk in the 0.10 - 8.00 €/MWh range, with offered volumes
+ * between 20k and 2M MWh and 55-100% of it allocated.
+ *
+ * Output only depends on the settings, so two runs with the same seed produce identical data.
+ * Rows are written with plain JDBC batches; callers must evict the Hibernate cache afterwards.
+ */
+public class SyntheticAuctionDataGenerator {
+
+    private static final String[] FRENCH_REGIONS = {
+            "Auvergne-Rhône-Alpes", "Bourgogne-Franche-Comté", "Bretagne", "Centre-Val de Loire", "Corse",
+            "Grand Est", "Hauts-de-France", "Île-de-France", "Normandie", "Nouvelle-Aquitaine",
+            "Occitanie", "Pays de la Loire", "Provence-Alpes-Côte d'Azur"
+    };
+
+    private static final String[] TECHNOLOGIES = {"Wind", "Solar", "Hydro", "Thermal", "Biomass", "Geothermal", "Marine", "Biogas"};
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Settings settings;
+
+    public SyntheticAuctionDataGenerator(JdbcTemplate jdbcTemplate, Settings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = settings;
+    }
+
+    // Volumes of the generated dataset; every value can be overridden with -Dloadtest.<name>
+    public record Settings(int years, int regions, int technologies, long seed, LocalDate firstAuction) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("loadtest.years", 10),
+                    Integer.getInteger("loadtest.regions", 36),
+                    Integer.getInteger("loadtest.technologies", 12),
+                    Long.getLong("loadtest.seed", 42L),
+                    LocalDate.parse(System.getProperty("loadtest.firstAuction", "2015-01-15")));
+        }
+
+        public int auctions() {
+            return years * 12;
+        }
+    }
+
+    public record Summary(int auctions, int regionRows, int technologyRows) {}
+
+    public Summary generate() {
+        Random random = new Random(settings.seed());
+        List<Series> regionSeries = series(regionNames(), random);
+        List<Series> technologySeries = series(technologyNames(), random);
+
+        SimpleJdbcInsert auctionInsert = new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName("auctions")
+                .usingColumns("auction_date", "production_month", "reserve_price", "created_at")
+                .usingGeneratedKeyColumns("id");
+
+        List<Object[]> regionRows = new ArrayList<>();
+        List<Object[]> technologyRows = new ArrayList<>();
+        int regionCount = 0;
+        int technologyCount = 0;
+
+        for (int i = 0; i < settings.auctions(); i++) {
+            LocalDate auctionDate = settings.firstAuction().plusMonths(i);
+            LocalDate productionMonth = auctionDate.plusMonths(2);
+            Timestamp createdAt = Timestamp.valueOf(auctionDate.atTime(9, 0));
+
+            Map<String, Object> auction = new HashMap<>();
+            auction.put("auction_date", Date.valueOf(auctionDate));
+            auction.put("production_month", productionMonth.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH)
+                    + " " + productionMonth.getYear());
+            auction.put("reserve_price", new BigDecimal("0.15"));
+            auction.put("created_at", createdAt);
+            long auctionId = auctionInsert.executeAndReturnKey(auction).longValue();
+
+            for (Series series : regionSeries) {
+                regionRows.add(series.next(auctionId, productionMonth, createdAt, random));
+            }
+            for (Series series : technologySeries) {
+                technologyRows.add(series.next(auctionId, productionMonth, createdAt, random));
+            }
+
+            if (regionRows.size() >= BATCH_SIZE) {
+                regionCount += flush("auction_regions", "region_name", regionRows);
+            }
+            if (technologyRows.size() >= BATCH_SIZE) {
+                technologyCount += flush("auction_technologies", "technology_type", technologyRows);
+            }
+        }
+
+        regionCount += flush("auction_regions", "region_name", regionRows);
+        technologyCount += flush("auction_technologies", "technology_type", technologyRows);
+
+        return new Summary(settings.auctions(), regionCount, technologyCount);
+    }
+
+    private int flush(String table, String nameColumn, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (auction_id, " + nameColumn
+                + ", volume_offered, volume_allocated, weighted_avg_price, created_at) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        int written = rows.size();
+        rows.clear();
+        return written;
+    }
+
+    private List<String> regionNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < settings.regions(); i++) {
+            names.add(i < FRENCH_REGIONS.length ? FRENCH_REGIONS[i] : "Overseas Zone " + (i - FRENCH_REGIONS.length + 1));
+        }
+        return names;
+    }
+
+    private List<String> technologyNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < settings.technologies(); i++) {
+            names.add(i < TECHNOLOGIES.length ? TECHNOLOGIES[i] : "Technology " + (i + 1));
+        }
+        return names;
+    }
+
+    private List<Series> series(List<String> names, Random random) {
+        List<Series> series = new ArrayList<>();
+        for (String name : names) {
+            series.add(new Series(name,
+                    0.3 + random.nextDouble() * 2.5,          // long-run price level
+                    20_000 + random.nextInt(1_500_000),       // typical offered volume
+                    random.nextDouble() * 12));               // seasonal phase in months
+        }
+        return series;
+    }
+
+    // One region or technology: price reverts to its level with a yearly cycle and occasional spikes
+    private static class Series {
+        private final String name;
+        private final double level;
+        private final int baseVolume;
+        private final double phase;
+        private double price;
+
+        Series(String name, double level, int baseVolume, double phase) {
+            this.name = name;
+            this.level = level;
+            this.baseVolume = baseVolume;
+            this.phase = phase;
+            this.price = level;
+        }
+
+        Object[] next(long auctionId, LocalDate productionMonth, Timestamp createdAt, Random random) {
+            double seasonal = 1 + 0.25 * Math.sin(2 * Math.PI * (productionMonth.getMonthValue() + phase) / 12);
+            double spike = random.nextDouble() < 0.02 ? 1.5 + random.nextDouble() * 2 : 1;
+            price = price + 0.3 * (level * seasonal - price) + random.nextGaussian() * 0.08 * level;
+            double quoted = Math.min(8.0, Math.max(0.10, price * spike));
+
+            int offered = (int) Math.max(1_000, baseVolume * (0.8 + random.nextDouble() * 0.4));
+            int allocated = (int) (offered * (0.55 + random.nextDouble() * 0.45));
+
+            return new Object[]{auctionId, name, offered, allocated,
+                    BigDecimal.valueOf(quoted).setScale(2, RoundingMode.HALF_UP), createdAt};
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.energyauctions.french_auction_scraper.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuctionFieldSelectionTest {
+
+    @Test
+    void splitsFieldsByTableAndDropsDuplicates() {
+        AuctionFieldSelection selection = AuctionFieldSelection.parse(
+                " auctionDate, regions.regionName,regions.weightedAvgPrice,auctionDate,,technologies.technologyType");
+
+        assertThat(selection.getAuctionFields()).containsExactly("auctionDate");
+        assertThat(selection.getRegionFields()).containsExactly("regionName", "weightedAvgPrice");
+        assertThat(selection.getTechnologyFields()).containsExactly("technologyType");
+        assertThat(selection.regionSelect("weightedAvgPrice")).isEqualTo("r.weightedAvgPrice AS weightedAvgPrice");
+    }
+
+    @Test
+    void bareTableNameSelectsEveryColumnExceptCreatedAt() {
+        AuctionFieldSelection selection = AuctionFieldSelection.parse("regions,technologies,regions.volumeOffered");
+
+        assertThat(selection.getAuctionFields()).isEmpty();
+        assertThat(selection.getRegionFields())
+                .containsExactly("regionName", "volumeOffered", "volumeAllocated", "weightedAvgPrice");
+        assertThat(selection.getTechnologyFields())
+                .containsExactly("technologyType", "volumeOffered", "volumeAllocated", "weightedAvgPrice");
+
+        // Still available when asked for by name
+        assertThat(AuctionFieldSelection.parse("regions.createdAt").getRegionFields()).containsExactly("createdAt");
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertThatThrownBy(() -> AuctionFieldSelection.parse("auctionDate,price"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: price");
+        assertThatThrownBy(() -> AuctionFieldSelection.parse("regions.technologyType"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: regions.technologyType");
+        // Names are case sensitive and map to a fixed JPQL path, so nothing else gets through
+        assertThatThrownBy(() -> AuctionFieldSelection.parse("auctiondate"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AuctionFieldSelection.parse("a.id FROM Auction a --"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsEmptySelection() {
+        // ?fields= with no value
+        assertThatThrownBy(() -> AuctionFieldSelection.parse(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("fields must not be empty");
+        assertThatThrownBy(() -> AuctionFieldSelection.parse(" , ,"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("fields must name at least one column");
+    }
+}
@@ -0,0 +1,109 @@
+package com.energyauctions.french_auction_scraper.repository;
+
+import com.energyauctions.french_auction_scraper.AuctionTestData;
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.service.AuctionCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Repeatable read benchmark for the second-level/query cache: same dataset, same read mix, cache cleared vs warm
+@SpringBootTest
+@ActiveProfiles("bench")
+@Tag("benchmark")
+class AuctionReadCacheBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionReadCacheBenchmarkTest.class);
+
+    private static final int AUCTIONS = 120;
+    private static final int REGIONS = 13;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private AuctionCacheService auctionCacheService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        auctionRepository.deleteAll();
+        auctionRepository.saveAll(AuctionTestData.monthlyAuctions(AUCTIONS, REGIONS));
+        auctionCacheService.evictAll();
+    }
+
+    @Test
+    void warmCacheServesDashboardReadsWithoutStatements() {
+        Result cold = measure(true);
+        Result warm = measure(false);
+
+        logger.info(String.format("Dashboard read mix over %d auctions, %d rounds", AUCTIONS, MEASURED_ROUNDS));
+        logger.info(String.format("  cache cleared: %8.3f ms/round, %6.1f statements/round", cold.msPerRound(), cold.statementsPerRound()));
+        logger.info(String.format("  cache warm:    %8.3f ms/round, %6.1f statements/round", warm.msPerRound(), warm.statementsPerRound()));
+        logger.info("  {}", auctionCacheService.getStatistics());
+
+        assertThat(warm.statementsPerRound()).isLessThan(cold.statementsPerRound());
+    }
+
+    private Result measure(boolean evictEachRound) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(evictEachRound);
+        }
+
+        long statementsBefore = preparedStatements();
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            if (evictEachRound) {
+                auctionCacheService.evictAll();
+            }
+            long started = System.nanoTime();
+            readDashboard();
+            elapsed += System.nanoTime() - started;
+        }
+        long statements = preparedStatements() - statementsBefore;
+
+        return new Result(elapsed / 1_000_000.0 / MEASURED_ROUNDS, (double) statements / MEASURED_ROUNDS);
+    }
+
+    private void round(boolean evict) {
+        if (evict) {
+            auctionCacheService.evictAll();
+        }
+        readDashboard();
+    }
+
+    // Same calls the dashboard makes: everything, the latest auction and a two-year range, with collections touched
+    private void readDashboard() {
+        transactionTemplate.executeWithoutResult(status -> {
+            auctionRepository.findAllAuctions().forEach(this::touch);
+            auctionRepository.findTopByOrderByAuctionDateDesc().ifPresent(this::touch);
+            auctionRepository.findByAuctionDateBetweenOrderByAuctionDateDesc(
+                    LocalDate.of(2020, 1, 1), LocalDate.of(2021, 12, 31)).forEach(this::touch);
+        });
+    }
+
+    private void touch(Auction auction) {
+        auction.getRegions().size();
+        auction.getTechnologies().size();
+    }
+
+    private long preparedStatements() {
+        return (Long) auctionCacheService.getStatistics().get("preparedStatements");
+    }
+
+    private record Result(double msPerRound, double statementsPerRound) {}
+}
@@ -0,0 +1,126 @@
+package com.energyauctions.french_auction_scraper.scraper;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Fixture pages under src/test/resources/fixtures/eex mirror the EEX results section
+class AuctionTableExtractorTest {
+
+    @Test
+    void parsesStandardLayout() throws IOException {
+        Document page = load("results-standard.html");
+
+        ExtractedTable regions = AuctionTableExtractor.REGIONS.extract(page);
+        ExtractedTable technologies = AuctionTableExtractor.TECHNOLOGIES.extract(page);
+
+        assertThat(regions.quality().isComplete()).isTrue();
+        assertThat(regions.rows()).extracting(TableRow::name)
+                .containsExactly("Auvergne-Rhône-Alpes", "Bretagne", "Occitanie");
+        assertThat(regions.rows().get(0)).isEqualTo(
+                new TableRow("Auvergne-Rhône-Alpes", 1943184, 1236995, new BigDecimal("0.50")));
+
+        assertThat(technologies.quality().isComplete()).isTrue();
+        assertThat(technologies.rows()).extracting(TableRow::name).containsExactly("Wind onshore", "Solar", "Hydro");
+    }
+
+    @Test
+    void mapsShuffledColumnsByHeader() throws IOException {
+        Document standard = load("results-standard.html");
+        Document shuffled = load("results-shuffled.html");
+
+        ExtractedTable regions = AuctionTableExtractor.REGIONS.extract(shuffled);
+        ExtractedTable technologies = AuctionTableExtractor.TECHNOLOGIES.extract(shuffled);
+
+        // Same values as the standard page despite reordered columns, an extra column, a repeated header and a blank row
+        assertThat(regions.rows()).isEqualTo(AuctionTableExtractor.REGIONS.extract(standard).rows());
+        assertThat(technologies.rows()).isEqualTo(AuctionTableExtractor.TECHNOLOGIES.extract(standard).rows());
+
+        assertThat(regions.quality().columns()).containsEntry("name", 2).containsEntry("volumeOffered", 3);
+        assertThat(technologies.quality().columns()).containsEntry("weightedAvgPrice", 0).containsEntry("volumeAllocated", 3);
+        assertThat(technologies.quality().totalsChecked()).isTrue();
+        assertThat(technologies.quality().isComplete()).isTrue();
+    }
+
+    @Test
+    void flagsInvalidRowsAndTotals() throws IOException {
+        Document page = load("results-invalid.html");
+
+        TableQuality regions = AuctionTableExtractor.REGIONS.extract(page).quality();
+        TableQuality technologies = AuctionTableExtractor.TECHNOLOGIES.extract(page).quality();
+
+        // Bretagne allocates more than offered, Occitanie has no allocated volume
+        assertThat(regions.isComplete()).isFalse();
+        assertThat(regions.rowsSeen()).isEqualTo(3);
+        assertThat(regions.rowsParsed()).isEqualTo(1);
+        assertThat(regions.rowsRejected()).isEqualTo(2);
+
+        assertThat(technologies.isComplete()).isFalse();
+        assertThat(technologies.totalsChecked()).isTrue();
+        assertThat(technologies.issues()).singleElement().asString().startsWith("Total row");
+    }
+
+    @Test
+    void skipsSpanningMonthRowsAndRejectsTextInNumericCells() throws IOException {
+        Document page = load("results-month-row.html");
+
+        ExtractedTable regions = AuctionTableExtractor.REGIONS.extract(page);
+        ExtractedTable technologies = AuctionTableExtractor.TECHNOLOGIES.extract(page);
+
+        // "March 2025" spans the whole row and is neither a region nor a rejected row
+        assertThat(regions.quality().isComplete()).isTrue();
+        assertThat(regions.quality().rowsSeen()).isEqualTo(3);
+        assertThat(regions.rows()).extracting(TableRow::name)
+                .containsExactly("Auvergne-Rhône-Alpes", "Bretagne", "Occitanie");
+        assertThat(regions.rows().get(2)).isEqualTo(new TableRow("Occitanie", 812400, 700000, new BigDecimal("0.52")));
+
+        // "ca. 900.000" and "see note 2" contain digits but are not a volume or a price
+        assertThat(technologies.quality().isComplete()).isFalse();
+        assertThat(technologies.rows()).extracting(TableRow::name).containsExactly("Wind onshore");
+        assertThat(technologies.quality().rowsRejected()).isEqualTo(2);
+    }
+
+    @Test
+    void readsDashAndEmptyPriceCellsAsNoPrice() throws IOException {
+        Document page = load("results-no-price.html");
+
+        ExtractedTable regions = AuctionTableExtractor.REGIONS.extract(page);
+        ExtractedTable technologies = AuctionTableExtractor.TECHNOLOGIES.extract(page);
+
+        assertThat(regions.quality().isComplete()).isTrue();
+        assertThat(regions.quality().totalsChecked()).isTrue();
+        assertThat(regions.rows()).containsExactly(
+                new TableRow("Bretagne", 236995, 236995, new BigDecimal("0.49")),
+                new TableRow("Corse", 12000, 0, null),
+                new TableRow("Normandie", 48500, 0, null));
+
+        // An empty cell has no price either; a negative number is still not a price
+        assertThat(technologies.rows()).extracting(TableRow::name).containsExactly("Wind onshore", "Geothermal");
+        assertThat(technologies.rows().get(1).weightedAvgPrice()).isNull();
+        assertThat(technologies.quality().rowsRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsMissingTable() {
+        Document page = Jsoup.parse("<div><h2>Results</h2><p>No results published yet</p></div>");
+
+        ExtractedTable regions = AuctionTableExtractor.REGIONS.extract(page);
+
+        assertThat(regions.rows()).isEmpty();
+        assertThat(regions.quality().isComplete()).isFalse();
+        assertThat(regions.quality().issues()).isNotEmpty();
+    }
+
+    private Document load(String name) throws IOException {
+        try (InputStream input = getClass().getResourceAsStream("/fixtures/eex/" + name)) {
+            return Jsoup.parse(input, StandardCharsets.UTF_8.name(), "https://www.eex.com/");
+        }
+    }
+}
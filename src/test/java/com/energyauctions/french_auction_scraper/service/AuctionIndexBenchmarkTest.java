@@ -0,0 +1,87 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.AuctionTestData;
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// Per-query latency of the comparison index over 20 years of monthly auctions and 100 regions
+@ExtendWith(MockitoExtension.class)
+@Tag("benchmark")
+class AuctionIndexBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionIndexBenchmarkTest.class);
+
+    private static final int AUCTIONS = 240;
+    private static final int REGIONS = 100;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 10_000;
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    @InjectMocks
+    private AuctionIndexService auctionIndexService;
+
+    @BeforeEach
+    void index() {
+        when(auctionRepository.findAllRegionResults()).thenReturn(List.of());
+        when(auctionRepository.findAllTechnologyResults()).thenReturn(List.of());
+        auctionIndexService.rebuild();
+
+        // Fills the index the way ingest does, one auction at a time
+        List<Auction> auctions = AuctionTestData.monthlyAuctions(AUCTIONS, REGIONS);
+        long started = System.nanoTime();
+        for (Auction auction : auctions) {
+            auctionIndexService.add(auction);
+        }
+        logger.info("Added {} auctions to the index in {} ms", AUCTIONS, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Test
+    void queriesAnswerInUnderAMillisecond() {
+        double rankings = measure(() -> auctionIndexService.topK("region", "price", 12, 5));
+        double deltas = measure(() -> auctionIndexService.deltas("region", "Region 42", 24));
+        double compare = measure(() -> auctionIndexService.headToHead("region", "Region 1", "Region 2", 24));
+
+        logger.info("Comparison index over {} auctions x {} regions", AUCTIONS, REGIONS);
+        logger.info(String.format("  rankings: %8.1f us/query", rankings));
+        logger.info(String.format("  deltas:   %8.1f us/query", deltas));
+        logger.info(String.format("  compare:  %8.1f us/query", compare));
+
+        assertThat(rankings).isLessThan(1000);
+        assertThat(deltas).isLessThan(1000);
+        assertThat(compare).isLessThan(1000);
+    }
+
+    // Mean microseconds per call
+    private double measure(Supplier<List<?>> query) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += query.get().size();
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += query.get().size();
+        }
+        long elapsed = System.nanoTime() - started;
+
+        assertThat(sink).isPositive();
+        return elapsed / 1_000.0 / MEASURED_ROUNDS;
+    }
+}
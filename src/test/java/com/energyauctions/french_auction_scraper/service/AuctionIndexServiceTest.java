@@ -0,0 +1,209 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.model.AuctionRegion;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import com.energyauctions.french_auction_scraper.repository.AuctionResultRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Small hand-built dataset: four auction dates, region B has no result on the second, C only on the first
+@ExtendWith(MockitoExtension.class)
+class AuctionIndexServiceTest {
+
+    private static final LocalDate JAN = LocalDate.of(2024, 1, 17);
+    private static final LocalDate FEB = LocalDate.of(2024, 2, 21);
+    private static final LocalDate MAR = LocalDate.of(2024, 3, 20);
+    private static final LocalDate APR = LocalDate.of(2024, 4, 17);
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    @InjectMocks
+    private AuctionIndexService auctionIndexService;
+
+    @BeforeEach
+    void dataset() {
+        when(auctionRepository.findAllRegionResults()).thenReturn(List.of(
+                // Deliberately out of date order - the index sorts each series
+                row("A", APR, 100, 80, "4.00"),
+                row("A", JAN, 100, 50, "1.00"),
+                row("A", FEB, 100, 60, "2.00"),
+                row("A", MAR, 100, 70, "3.00"),
+                row("B", JAN, 200, 200, "5.00"),
+                row("B", MAR, 200, 100, "4.00"),
+                row("B", APR, 200, 50, "2.00"),
+                row("C", JAN, 10, 10, "10.00")));
+        when(auctionRepository.findAllTechnologyResults()).thenReturn(List.of(
+                row("Wind", JAN, 500, 400, "0.50"),
+                row("Wind", APR, 500, 450, "0.60")));
+    }
+
+    @Test
+    void buildsOnFirstAccessOnly() {
+        verify(auctionRepository, never()).findAllRegionResults();
+
+        auctionIndexService.names("region");
+        auctionIndexService.topK("region", "price", 4, 3);
+
+        verify(auctionRepository, times(1)).findAllRegionResults();
+        assertThat(auctionIndexService.names("region")).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    void topKAveragesOverTheLastNAuctionDates() {
+        // Last two dates are March and April; C has nothing there and is left out
+        List<AuctionIndexService.Ranking> lastTwo = auctionIndexService.topK("region", "price", 2, 5);
+        assertThat(lastTwo).extracting(AuctionIndexService.Ranking::name).containsExactly("A", "B");
+        assertThat(lastTwo.get(0).value()).isCloseTo(3.5, within(1e-9));
+        assertThat(lastTwo.get(1).value()).isCloseTo(3.0, within(1e-9));
+        assertThat(lastTwo.get(1).auctions()).isEqualTo(2);
+
+        // lastN beyond the history covers everything; k keeps only the best
+        List<AuctionIndexService.Ranking> all = auctionIndexService.topK("region", "price", 100, 2);
+        assertThat(all).extracting(AuctionIndexService.Ranking::name).containsExactly("C", "B");
+
+        assertThat(auctionIndexService.topK("region", "allocationRatio", 1, 1))
+                .singleElement()
+                .satisfies(ranking -> {
+                    assertThat(ranking.name()).isEqualTo("A");
+                    assertThat(ranking.value()).isCloseTo(0.8, within(1e-9));
+                });
+    }
+
+    @Test
+    void deltasCompareAgainstTheResultBeforeTheWindow() {
+        // Window starts in February, where B has no result; its March delta is against January
+        List<AuctionIndexService.Delta> deltas = auctionIndexService.deltas("region", "B", 3);
+
+        assertThat(deltas).extracting(AuctionIndexService.Delta::auctionDate).containsExactly(MAR, APR);
+        assertThat(deltas.get(0).priceChange()).isCloseTo(-1.0, within(1e-9));
+        assertThat(deltas.get(0).priceChangePercent()).isCloseTo(-20.0, within(1e-9));
+        assertThat(deltas.get(0).allocatedChange()).isEqualTo(-100);
+        assertThat(deltas.get(1).priceChangePercent()).isCloseTo(-50.0, within(1e-9));
+
+        // The first result in the history has nothing to compare with
+        assertThat(auctionIndexService.deltas("region", "C", 4)).singleElement()
+                .satisfies(delta -> assertThat(delta.priceChange()).isNull());
+    }
+
+    @Test
+    void headToHeadKeepsDatesOnlyOneSideHas() {
+        List<AuctionIndexService.HeadToHead> rows = auctionIndexService.headToHead("region", "A", "B", 3);
+
+        assertThat(rows).extracting(AuctionIndexService.HeadToHead::auctionDate).containsExactly(FEB, MAR, APR);
+        assertThat(rows.get(0).second()).isNull();
+        assertThat(rows.get(0).priceDifference()).isNull();
+        assertThat(rows.get(1).priceDifference()).isCloseTo(-1.0, within(1e-9));
+        assertThat(rows.get(2).priceDifference()).isCloseTo(2.0, within(1e-9));
+
+        List<AuctionIndexService.HeadToHead> reversed = auctionIndexService.headToHead("region", "C", "A", 4);
+        assertThat(reversed).hasSize(4);
+        assertThat(reversed.subList(1, 4)).allSatisfy(row -> assertThat(row.first()).isNull());
+    }
+
+    @Test
+    void addedAuctionIsInsertedInDateOrder() {
+        auctionIndexService.names("region");
+
+        Auction auction = new Auction(FEB.plusDays(7), "April 2024", BigDecimal.valueOf(0.15));
+        auction.setRegions(List.of(new AuctionRegion(auction, "C", 20, 5, new BigDecimal("12.00"))));
+        auctionIndexService.add(auction);
+
+        assertThat(auctionIndexService.deltas("region", "C", 10))
+                .extracting(AuctionIndexService.Delta::auctionDate)
+                .containsExactly(JAN, FEB.plusDays(7));
+        // The new date counts towards lastN for every series
+        assertThat(auctionIndexService.deltas("region", "A", 3))
+                .extracting(AuctionIndexService.Delta::auctionDate)
+                .containsExactly(MAR, APR);
+    }
+
+    @Test
+    void auctionsOnTheSameDateStaySeparate() {
+        auctionIndexService.names("region");
+
+        // A second April auction, for the production month after the dataset's "JUNE 2024"
+        Auction auction = new Auction(APR, "July 2024", BigDecimal.valueOf(0.15));
+        auction.setRegions(List.of(new AuctionRegion(auction, "A", 100, 90, new BigDecimal("6.00"))));
+        auctionIndexService.add(auction);
+
+        List<AuctionIndexService.Delta> deltas = auctionIndexService.deltas("region", "A", 2);
+        assertThat(deltas).extracting(AuctionIndexService.Delta::productionMonth).containsExactly("JUNE 2024", "July 2024");
+        assertThat(deltas.get(1).priceChange()).isCloseTo(2.0, within(1e-9));
+
+        // B only took part in the first April auction
+        List<AuctionIndexService.HeadToHead> rows = auctionIndexService.headToHead("region", "A", "B", 2);
+        assertThat(rows).extracting(AuctionIndexService.HeadToHead::auctionDate).containsExactly(APR, APR);
+        assertThat(rows.get(0).priceDifference()).isCloseTo(2.0, within(1e-9));
+        assertThat(rows.get(1).second()).isNull();
+    }
+
+    @Test
+    void resultsWithoutAPriceAreLeftOutOfPriceFigures() {
+        auctionIndexService.names("region");
+
+        // EEX prints "-" for a region with nothing allocated
+        Auction auction = new Auction(APR.plusDays(28), "July 2024", BigDecimal.valueOf(0.15));
+        auction.setRegions(List.of(new AuctionRegion(auction, "B", 200, 0, null)));
+        auctionIndexService.add(auction);
+
+        List<AuctionIndexService.Ranking> lastTwo = auctionIndexService.topK("region", "price", 2, 5);
+        assertThat(lastTwo).extracting(AuctionIndexService.Ranking::name).containsExactly("A", "B");
+        assertThat(lastTwo.get(1).value()).isCloseTo(2.0, within(1e-9));
+        assertThat(lastTwo.get(1).auctions()).isEqualTo(1);
+
+        AuctionIndexService.Delta latest = auctionIndexService.deltas("region", "B", 1).get(0);
+        assertThat(latest.price()).isNull();
+        assertThat(latest.priceChange()).isNull();
+        assertThat(latest.allocatedChange()).isEqualTo(-50);
+    }
+
+    @Test
+    void rejectsBadArgumentsAndUnknownNames() {
+        assertThatThrownBy(() -> auctionIndexService.topK("country", "price", 4, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> auctionIndexService.topK("region", "volume", 4, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> auctionIndexService.topK("region", "price", 0, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> auctionIndexService.topK("region", "price", 4, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> auctionIndexService.deltas("region", "Wind", 4)).isInstanceOf(NoSuchElementException.class);
+        assertThat(auctionIndexService.deltas("technology", "Wind", 4)).hasSize(2);
+    }
+
+    private static AuctionResultRow row(String name, LocalDate auctionDate, int offered, int allocated, String price) {
+        return new Row(name, auctionDate, auctionDate.plusMonths(2).getMonth() + " " + auctionDate.getYear(),
+                offered, allocated, new BigDecimal(price));
+    }
+
+    private record Row(String name, LocalDate auctionDate, String productionMonth, Integer volumeOffered,
+                       Integer volumeAllocated, BigDecimal weightedAvgPrice) implements AuctionResultRow {
+
+        public String getName() { return name; }
+
+        public LocalDate getAuctionDate() { return auctionDate; }
+
+        public String getProductionMonth() { return productionMonth; }
+
+        public Integer getVolumeOffered() { return volumeOffered; }
+
+        public Integer getVolumeAllocated() { return volumeAllocated; }
+
+        public BigDecimal getWeightedAvgPrice() { return weightedAvgPrice; }
+    }
+}
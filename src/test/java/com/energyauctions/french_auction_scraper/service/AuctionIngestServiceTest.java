@@ -0,0 +1,120 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.AuctionTestData;
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.model.PriceStatistic;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import com.energyauctions.french_auction_scraper.repository.PriceAnomalyRepository;
+import com.energyauctions.french_auction_scraper.repository.PriceStatisticRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+// The real JPA-backed AuctionSink: replays must be idempotent, statistics must commit with the auction
+// and concurrent ingests must not overwrite each other's running statistics
+@SpringBootTest
+@ActiveProfiles("test")
+class AuctionIngestServiceTest {
+
+    @Autowired
+    private AuctionIngestService auctionIngestService;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private PriceStatisticRepository priceStatisticRepository;
+
+    @Autowired
+    private PriceAnomalyRepository priceAnomalyRepository;
+
+    @MockitoSpyBean
+    private AuctionStatisticsService auctionStatisticsService;
+
+    @BeforeEach
+    void clean() {
+        reset(auctionStatisticsService);
+        priceAnomalyRepository.deleteAllInBatch();
+        priceStatisticRepository.deleteAllInBatch();
+        auctionRepository.deleteAll();
+    }
+
+    @Test
+    void replayedBatchIsStoredAndCountedOnce() {
+        List<Auction> first = AuctionTestData.monthlyAuctions(3, 2);
+        auctionIngestService.persist(first);
+
+        // Same auctions again, as after a crash between the database commit and the journal commit
+        auctionIngestService.persist(AuctionTestData.monthlyAuctions(3, 2));
+
+        assertThat(auctionRepository.count()).isEqualTo(3);
+        assertThat(sampleCount("Region 0")).isEqualTo(3);
+    }
+
+    @Test
+    void statisticsFailureRollsBackTheBatch() {
+        doThrow(new IllegalStateException("statistics unavailable"))
+                .when(auctionStatisticsService).recordIngest(any(Auction.class));
+
+        assertThatThrownBy(() -> auctionIngestService.persist(AuctionTestData.monthlyAuctions(2, 2)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(auctionRepository.count()).isZero();
+
+        // The journal replays the batch once statistics work again
+        reset(auctionStatisticsService);
+        auctionIngestService.persist(AuctionTestData.monthlyAuctions(2, 2));
+
+        assertThat(auctionRepository.count()).isEqualTo(2);
+        assertThat(sampleCount("Region 0")).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentIngestsDoNotLoseStatisticUpdates() throws Exception {
+        List<Auction> auctions = AuctionTestData.monthlyAuctions(13, 2);
+        // The first auction creates the series; the rest update the same rows from four threads
+        auctionIngestService.persist(auctions.subList(0, 1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> ingests = new ArrayList<>();
+            for (Auction auction : auctions.subList(1, auctions.size())) {
+                ingests.add(executor.submit(() -> auctionIngestService.persist(List.of(auction))));
+            }
+            for (Future<?> ingest : ingests) {
+                ingest.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(auctionRepository.count()).isEqualTo(13);
+        assertThat(sampleCount("Region 0")).isEqualTo(13);
+        assertThat(sampleCount("Region 1")).isEqualTo(13);
+    }
+
+    private long sampleCount(String region) {
+        return priceStatisticRepository.findAll().stream()
+                .filter(statistic -> statistic.getDimension().equals(PriceStatistic.REGION)
+                        && statistic.getName().equals(region)
+                        && statistic.getMetric().equals(PriceStatistic.PRICE))
+                .findFirst()
+                .map(PriceStatistic::getCount)
+                .orElse(0L);
+    }
+}
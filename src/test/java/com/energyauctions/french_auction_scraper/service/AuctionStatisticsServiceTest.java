@@ -0,0 +1,169 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.model.AuctionRegion;
+import com.energyauctions.french_auction_scraper.model.PriceAnomaly;
+import com.energyauctions.french_auction_scraper.model.PriceStatistic;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import com.energyauctions.french_auction_scraper.repository.PriceAnomalyRepository;
+import com.energyauctions.french_auction_scraper.repository.PriceStatisticRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// Running statistics over known price series for one region; allocation ratios are constant and never flag
+@ExtendWith(MockitoExtension.class)
+class AuctionStatisticsServiceTest {
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    @Mock
+    private PriceStatisticRepository priceStatisticRepository;
+
+    @Mock
+    private PriceAnomalyRepository priceAnomalyRepository;
+
+    @InjectMocks
+    private AuctionStatisticsService auctionStatisticsService;
+
+    // Stands in for the price_statistics table
+    private final List<PriceStatistic> stored = new ArrayList<>();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(auctionStatisticsService, "zThreshold", 3.0);
+        ReflectionTestUtils.setField(auctionStatisticsService, "minSamples", 6);
+        ReflectionTestUtils.setField(auctionStatisticsService, "ewmaAlpha", 0.3);
+        ReflectionTestUtils.setField(auctionStatisticsService, "retained", 100);
+    }
+
+    @Test
+    void tracksMeanVarianceEwmaAndRange() {
+        ingest(2, 4, 4, 4, 5, 5, 7, 9);
+
+        PriceStatistic price = statistic(PriceStatistic.PRICE);
+        assertThat(price.getCount()).isEqualTo(8);
+        assertThat(price.getMean()).isCloseTo(5.0, within(1e-9));
+        // Population variance 4, so M2 = 8 * 4
+        assertThat(price.getM2()).isCloseTo(32.0, within(1e-9));
+        assertThat(price.getEwma()).isCloseTo(6.2151914, within(1e-9));
+        assertThat(price.getMin()).isEqualTo(2.0);
+        assertThat(price.getMax()).isEqualTo(9.0);
+
+        assertThat(statistic(PriceStatistic.ALLOCATION_RATIO).getMean()).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    void doesNotScoreBeforeMinSamples() {
+        // The outlier is the sixth value, scored against five samples
+        List<PriceAnomaly> anomalies = ingest(1.0, 1.1, 0.9, 1.0, 1.1, 50.0);
+
+        assertThat(anomalies).isEmpty();
+    }
+
+    @Test
+    void doesNotScoreAgainstAFlatSeries() {
+        List<PriceAnomaly> anomalies = ingest(1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 5.0);
+
+        assertThat(anomalies).isEmpty();
+        assertThat(statistic(PriceStatistic.PRICE).getMax()).isEqualTo(5.0);
+    }
+
+    @Test
+    void flagsValueBeyondTheThreshold() {
+        // Mean 1.0, sample standard deviation sqrt(0.008); 2.0 is about 11 standard deviations away
+        List<PriceAnomaly> anomalies = ingest(1.0, 1.1, 0.9, 1.0, 1.1, 0.9, 2.0, 1.05);
+
+        assertThat(anomalies).singleElement().satisfies(anomaly -> {
+            assertThat(anomaly.getMetric()).isEqualTo(PriceStatistic.PRICE);
+            assertThat(anomaly.getValue()).isEqualTo(2.0);
+            assertThat(anomaly.getMean()).isCloseTo(1.0, within(1e-9));
+            assertThat(anomaly.getZScore()).isCloseTo(1.0 / Math.sqrt(0.008), within(1e-6));
+        });
+        assertThat(auctionStatisticsService.getRecentAnomalies()).hasSize(1);
+    }
+
+    @Test
+    void rebuildMatchesIncrementalIngest() {
+        double[] prices = {1.0, 1.1, 0.9, 1.0, 1.1, 0.9, 2.0, 1.05, 3.5, 1.0};
+
+        List<PriceAnomaly> incremental = ingest(prices);
+        List<PriceStatistic> incrementalStatistics = List.copyOf(stored);
+
+        stored.clear();
+        // saveAll still stores into the list via the answer ingest() installed
+        when(auctionRepository.findAll(any(Sort.class))).thenReturn(auctions(prices));
+        auctionStatisticsService.rebuild();
+
+        assertThat(stored).hasSameSizeAs(incrementalStatistics);
+        for (PriceStatistic expected : incrementalStatistics) {
+            PriceStatistic actual = statistic(expected.getMetric());
+            assertThat(actual.getCount()).isEqualTo(expected.getCount());
+            assertThat(actual.getMean()).isCloseTo(expected.getMean(), within(1e-12));
+            assertThat(actual.getM2()).isCloseTo(expected.getM2(), within(1e-12));
+            assertThat(actual.getEwma()).isCloseTo(expected.getEwma(), within(1e-12));
+            assertThat(actual.getMin()).isEqualTo(expected.getMin());
+            assertThat(actual.getMax()).isEqualTo(expected.getMax());
+        }
+        assertThat(incremental).hasSize(2);
+        assertThat(auctionStatisticsService.getRecentAnomalies())
+                .extracting(PriceAnomaly::getValue)
+                .containsExactly(3.5, 2.0);
+    }
+
+    // Feeds one auction per price through recordIngest, persisting statistics between calls
+    private List<PriceAnomaly> ingest(double... prices) {
+        when(priceStatisticRepository.findAllByOrderByIdAsc()).thenAnswer(invocation -> new ArrayList<>(stored));
+        when(priceStatisticRepository.saveAll(any())).thenAnswer(invocation -> store(invocation.getArgument(0)));
+
+        List<PriceAnomaly> anomalies = new ArrayList<>();
+        for (Auction auction : auctions(prices)) {
+            anomalies.addAll(auctionStatisticsService.recordIngest(auction));
+        }
+        return anomalies;
+    }
+
+    private List<PriceStatistic> store(Iterable<PriceStatistic> statistics) {
+        for (PriceStatistic statistic : statistics) {
+            if (!stored.contains(statistic)) {
+                stored.add(statistic);
+            }
+        }
+        return stored;
+    }
+
+    private PriceStatistic statistic(String metric) {
+        return stored.stream()
+                .filter(statistic -> statistic.getMetric().equals(metric))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<Auction> auctions(double... prices) {
+        List<Auction> auctions = new ArrayList<>();
+        LocalDate date = LocalDate.of(2023, 1, 18);
+        for (double price : prices) {
+            Auction auction = new Auction(date, date.plusMonths(2).getMonth() + " " + date.getYear(), BigDecimal.valueOf(0.15));
+            auction.setRegions(List.of(new AuctionRegion(auction, "Bretagne", 1000, 500, BigDecimal.valueOf(price))));
+            auctions.add(auction);
+            date = date.plusMonths(1);
+        }
+        return auctions;
+    }
+}
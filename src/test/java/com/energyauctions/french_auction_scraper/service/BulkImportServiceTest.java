@@ -0,0 +1,155 @@
+package com.energyauctions.french_auction_scraper.service;
+
+import com.energyauctions.french_auction_scraper.model.Auction;
+import com.energyauctions.french_auction_scraper.model.AuctionRegion;
+import com.energyauctions.french_auction_scraper.repository.AuctionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Verifies the COPY + merge path against a real PostgreSQL; skipped when Docker is not available
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class BulkImportServiceTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("auction.journal.directory", () -> "target/import-test-journal");
+    }
+
+    private static final String CSV = """
+            auction_date,production_month,reserve_price,kind,name,volume_offered,volume_allocated,weighted_avg_price
+            2024-01-17,March 2024,0.15,REGION,Bretagne,120000,110000,0.52
+            2024-01-17,March 2024,0.15,REGION,"Provence-Alpes-Côte d'Azur",300000,250000,0.61
+            2024-01-17,March 2024,0.15,REGION,Bretagne,120000,110000,0.52
+            2024-01-17,March 2024,0.15,TECHNOLOGY,Wind,900000,800000,0.48
+            2024-02-21,April 2024,0.15,REGION,Bretagne,130000,90000,0.44
+            2024-02-21,April 2024,0.15,TECHNOLOGY,Solar,500000,450000,0.39
+            2023-12-13,February 2024,0.15,REGION,Bretagne,1,1,9.99
+            """;
+
+    private static final String NDJSON = """
+            {"auctionDate":"2024-03-20","productionMonth":"May 2024","reservePrice":0.15,"regions":[{"regionName":"Corse","volumeOffered":1000,"volumeAllocated":0,"weightedAvgPrice":null}],"technologies":[{"technologyType":"Hydro","volumeOffered":2000,"volumeAllocated":1500,"weightedAvgPrice":0.55}]}
+            {"auctionDate":"2024-04-17","productionMonth":"June 2024","reservePrice":null,"regions":[],"technologies":[]}
+            """;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void existingAuction() {
+        jdbcTemplate.update("DELETE FROM auction_regions");
+        jdbcTemplate.update("DELETE FROM auction_technologies");
+        jdbcTemplate.update("DELETE FROM auctions");
+
+        // Already stored by the scraper - the import must not touch it
+        Auction auction = new Auction(LocalDate.of(2023, 12, 13), "February 2024", new BigDecimal("0.15"));
+        auction.setRegions(List.of(new AuctionRegion(auction, "Bretagne", 100000, 95000, new BigDecimal("0.50"))));
+        auctionRepository.save(auction);
+    }
+
+    @Test
+    void csvIsMergedWithDedupOnAuctionDateAndProductionMonth() throws Exception {
+        BulkImportService.ImportResult result = bulkImportService.importAuctions(stream(CSV), BulkImportService.FORMAT_CSV);
+
+        assertThat(result.rowsStaged()).isEqualTo(7);
+        assertThat(result.auctionsInserted()).isEqualTo(2);
+        assertThat(result.regionsInserted()).isEqualTo(3);
+        assertThat(result.technologiesInserted()).isEqualTo(2);
+
+        assertThat(count("auctions")).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT weighted_avg_price FROM auction_regions r JOIN auctions a ON a.id = r.auction_id "
+                        + "WHERE a.production_month = 'February 2024'", BigDecimal.class))
+                .isEqualByComparingTo("0.50");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM auction_regions WHERE region_name = 'Provence-Alpes-Côte d''Azur'", Long.class))
+                .isEqualTo(1);
+
+        // Importing the same file again changes nothing
+        BulkImportService.ImportResult again = bulkImportService.importAuctions(stream(CSV), BulkImportService.FORMAT_CSV);
+        assertThat(again.auctionsInserted()).isZero();
+        assertThat(count("auction_regions")).isEqualTo(4);
+    }
+
+    @Test
+    void ndjsonCreatesAuctionsWithAndWithoutResultRows() throws Exception {
+        BulkImportService.ImportResult result = bulkImportService.importAuctions(stream(NDJSON), BulkImportService.FORMAT_NDJSON);
+
+        assertThat(result.auctionsInserted()).isEqualTo(2);
+        assertThat(result.regionsInserted()).isEqualTo(1);
+        assertThat(result.technologiesInserted()).isEqualTo(1);
+        assertThat(auctionRepository.findAllAuctions()).extracting(Auction::getProductionMonth)
+                .containsExactly("June 2024", "May 2024", "February 2024");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT reserve_price FROM auctions WHERE production_month = 'June 2024'", BigDecimal.class)).isNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT weighted_avg_price FROM auction_regions WHERE region_name = 'Corse'", BigDecimal.class)).isNull();
+    }
+
+    @Test
+    void uniqueKeyRejectsASecondAuctionForTheSameMonth() {
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO auctions (auction_date, production_month) "
+                + "VALUES (DATE '2023-12-13', 'February 2024')"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void invalidRowRollsBackTheWholeImport() {
+        String broken = CSV + "2024-05-15,July 2024,0.15,REGION,Bretagne,lots,1,0.5\n";
+
+        assertThatThrownBy(() -> bulkImportService.importAuctions(stream(broken), BulkImportService.FORMAT_CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 9");
+        assertThat(count("auctions")).isEqualTo(1);
+    }
+
+    @Test
+    void ndjsonNullNameIsRejected() {
+        String nullName = """
+                {"auctionDate":"2024-05-15","productionMonth":"July 2024","reservePrice":0.15,"regions":[{"regionName":null,"volumeOffered":1000,"volumeAllocated":900,"weightedAvgPrice":0.70}]}
+                """;
+
+        assertThatThrownBy(() -> bulkImportService.importAuctions(stream(nullName), BulkImportService.FORMAT_NDJSON))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("name is required");
+        assertThat(count("auction_regions")).isEqualTo(1);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}